@@ -0,0 +1,50 @@
+package graph.bench;
+
+import graph.common.Metrics;
+import graph.dagsp.DAGShortestPath;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DAGShortestPathBenchmark {
+
+    @Benchmark
+    public DAGShortestPath.PathResult shortestPaths(GraphState state) {
+        return new DAGShortestPath(state.condensation, state.topoOrder, Metrics.noOp())
+                .shortestPaths(state.topoOrder[0]);
+    }
+
+    @Benchmark
+    public DAGShortestPath.PathResult shortestPathsWavefront(GraphState state) {
+        return new DAGShortestPath(state.condensation, state.topoOrder, Metrics.noOp())
+                .shortestPaths(state.topoOrder[0], Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public DAGShortestPath.PathResult shortestPathsWithTopo(GraphState state) {
+        return new DAGShortestPath(state.condensation, Metrics.noOp())
+                .shortestPaths(state.topoOrder[0]);
+    }
+
+    @Benchmark
+    public DAGShortestPath.CriticalPath criticalPath(GraphState state) {
+        return new DAGShortestPath(state.condensation, state.topoOrder, Metrics.noOp())
+                .findCriticalPath();
+    }
+
+    @Benchmark
+    public DAGShortestPath.ScheduleResult schedule(GraphState state) {
+        return new DAGShortestPath(state.condensation, state.topoOrder, Metrics.noOp())
+                .analyzeSchedule();
+    }
+}
@@ -0,0 +1,101 @@
+package graph.bench;
+
+import com.google.gson.stream.JsonWriter;
+import graph.common.BinaryGraphFormat;
+import graph.common.CSRGraph;
+import graph.common.DataLoader;
+import graph.common.GraphDataset;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DataLoaderBenchmark {
+
+    @Param({"DAG", "CYCLIC", "DENSE"})
+    public GraphFamily family;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    private Path directory;
+    private String jsonPath;
+    private String binaryPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CSRGraph graph = family.generate(edges, GraphState.SEED);
+        GraphDataset dataset = new GraphDataset(graph, 0, true, "edge");
+
+        directory = Files.createTempDirectory("graph-bench");
+        Path json = directory.resolve("graph.json");
+        Path binary = directory.resolve("graph" + BinaryGraphFormat.EXTENSION);
+        writeJson(dataset, json);
+        BinaryGraphFormat.write(dataset, binary);
+
+        jsonPath = json.toString();
+        binaryPath = binary.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(jsonPath));
+        Files.deleteIfExists(Path.of(binaryPath));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public GraphDataset json() throws IOException {
+        return DataLoader.loadDataset(jsonPath);
+    }
+
+    @Benchmark
+    public GraphDataset binary() throws IOException {
+        return DataLoader.loadDataset(binaryPath);
+    }
+
+    private static void writeJson(GraphDataset dataset, Path path) throws IOException {
+        CSRGraph graph = dataset.graph;
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+             JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("directed").value(dataset.directed);
+            writer.name("n").value(dataset.n);
+            writer.name("edges").beginArray();
+            for (int u = 0; u < graph.getNumVertices(); u++) {
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    writer.beginObject();
+                    writer.name("u").value(u);
+                    writer.name("v").value(graph.getTarget(e));
+                    writer.name("w").value(graph.getWeight(e));
+                    writer.endObject();
+                }
+            }
+            writer.endArray();
+            writer.name("source").value(dataset.source);
+            writer.name("weight_model").value(dataset.weightModel);
+            writer.endObject();
+        }
+    }
+}
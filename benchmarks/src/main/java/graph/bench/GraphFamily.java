@@ -0,0 +1,70 @@
+package graph.bench;
+
+import graph.common.CSRGraph;
+import java.util.SplittableRandom;
+
+public enum GraphFamily {
+    DAG {
+        @Override
+        int vertexCount(int edges) {
+            return Math.max(2, edges / 4);
+        }
+
+        @Override
+        boolean acyclic() {
+            return true;
+        }
+    },
+    CYCLIC {
+        @Override
+        int vertexCount(int edges) {
+            return Math.max(2, edges / 4);
+        }
+
+        @Override
+        boolean acyclic() {
+            return false;
+        }
+    },
+    DENSE {
+        @Override
+        int vertexCount(int edges) {
+            return Math.max(2, (int) Math.ceil(Math.sqrt(2.0 * edges)));
+        }
+
+        @Override
+        boolean acyclic() {
+            return false;
+        }
+    };
+
+    abstract int vertexCount(int edges);
+
+    abstract boolean acyclic();
+
+    public CSRGraph generate(int edges, long seed) {
+        int n = vertexCount(edges);
+        SplittableRandom rand = new SplittableRandom(seed);
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        double[] weight = new double[edges];
+
+        for (int i = 0; i < edges; i++) {
+            int u = rand.nextInt(n);
+            int v = rand.nextInt(n - 1);
+            if (v >= u) {
+                v++;
+            }
+            if (acyclic() && u > v) {
+                int temp = u;
+                u = v;
+                v = temp;
+            }
+            from[i] = u;
+            to[i] = v;
+            weight[i] = 1 + rand.nextInt(5);
+        }
+
+        return CSRGraph.fromEdges(n, from, to, weight, edges);
+    }
+}
@@ -0,0 +1,38 @@
+package graph.bench;
+
+import graph.common.CSRGraph;
+import graph.common.Metrics;
+import graph.scc.CondensationBuilder;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class GraphState {
+    public static final long SEED = 42;
+
+    @Param({"DAG", "CYCLIC", "DENSE"})
+    public GraphFamily family;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    public CSRGraph graph;
+    public SCCResult sccs;
+    public CSRGraph condensation;
+    public int[] topoOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = family.generate(edges, SEED);
+        sccs = new TarjanSCC(graph, Metrics.noOp()).decompose();
+        condensation = new CondensationBuilder(graph, Metrics.noOp())
+                .build(sccs.getComponentOf(), sccs.componentCount());
+        topoOrder = new TopologicalSort(condensation, Metrics.noOp()).kahnOrder();
+    }
+}
@@ -0,0 +1,43 @@
+package graph.bench;
+
+import graph.common.CSRGraph;
+import graph.common.Metrics;
+import graph.scc.CondensationBuilder;
+import graph.scc.ParallelSCC;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SCCBenchmark {
+
+    @Benchmark
+    public SCCResult tarjan(GraphState state) {
+        return new TarjanSCC(state.graph, Metrics.noOp()).decompose();
+    }
+
+    @Benchmark
+    public SCCResult parallel(GraphState state) {
+        ParallelSCC scc = new ParallelSCC(state.graph, Metrics.noOp(),
+                Runtime.getRuntime().availableProcessors());
+        scc.setSequentialThreshold(0);
+        return scc.decompose();
+    }
+
+    @Benchmark
+    public CSRGraph condensation(GraphState state) {
+        return new CondensationBuilder(state.graph, Metrics.noOp())
+                .build(state.sccs.getComponentOf(), state.sccs.componentCount());
+    }
+}
@@ -0,0 +1,37 @@
+package graph.bench;
+
+import graph.common.Metrics;
+import graph.topo.ParallelTopologicalSort;
+import graph.topo.TopologicalSort;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopologicalSortBenchmark {
+
+    @Benchmark
+    public int[] kahn(GraphState state) {
+        return new TopologicalSort(state.condensation, Metrics.noOp()).kahnOrder();
+    }
+
+    @Benchmark
+    public int[] dfs(GraphState state) {
+        return new TopologicalSort(state.condensation, Metrics.noOp()).dfsOrder();
+    }
+
+    @Benchmark
+    public ParallelTopologicalSort.WavefrontResult wavefront(GraphState state) {
+        return new ParallelTopologicalSort(state.condensation, Metrics.noOp(),
+                Runtime.getRuntime().availableProcessors()).sort();
+    }
+}
@@ -1,12 +1,16 @@
-import graph.common.*;
-import graph.scc.TarjanSCC;
-import graph.topo.TopologicalSort;
-import graph.dagsp.DAGShortestPath;
-
-import java.io.IOException;
+import graph.common.ConcurrentMetrics;
+import graph.common.Metrics;
+import graph.export.ResultExporter;
+import graph.pipeline.GraphPipeline;
+import graph.pipeline.PipelineRunner;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 public class Main {
+    private static final Metrics PHASES = new ConcurrentMetrics();
 
     public static void main(String[] args) {
         String[] datasets = {
@@ -15,85 +19,47 @@ public class Main {
                 "large_dag_1", "large_scc_1", "large_dense_1"
         };
 
-        for (String dataset : datasets) {
-            System.out.println("\nTESTING DATASET: " + dataset);
-            processDataset("data/" + dataset + ".json");
-        }
-
-        System.out.println("\nALL TESTS COMPLETED");
-    }
-
-    public static void processDataset(String filepath) {
-        try {
-            Graph graph = DataLoader.loadGraph(filepath);
-            int source = DataLoader.getSource(filepath);
-
-            System.out.println("\nLoaded graph: " + filepath);
-            System.out.println("Vertices: " + graph.getNumVertices() + ", Edges: " + graph.countEdges());
-            System.out.println("Source vertex: " + source);
-
-            Metrics sccMetrics = new Metrics();
-            TarjanSCC tarjan = new TarjanSCC(graph, sccMetrics);
-            List<List<Integer>> sccs = tarjan.findSCCs();
-
-            tarjan.printSCCs(sccs);
-            System.out.println("\nSCC Metrics: " + sccMetrics);
-
-            Graph condensation = tarjan.buildCondensation(sccs);
-            System.out.println("\nCondensation Graph:");
-            System.out.println("Vertices (SCCs): " + condensation.getNumVertices() + ", Edges: " + condensation.countEdges());
-
-            Metrics topoMetrics = new Metrics();
-            TopologicalSort topoSort = new TopologicalSort(condensation, topoMetrics);
-            List<Integer> topoOrder = topoSort.kahnSort();
-
-            topoSort.printTopoOrder(topoOrder);
-            System.out.println("\nTopological Sort Metrics: " + topoMetrics);
-
-            if (topoOrder != null) {
-                System.out.println("\nDerived Task Order:");
-                for (int sccIdx : topoOrder) {
-                    List<Integer> scc = sccs.get(sccIdx);
-                    System.out.print("  " + condensation.getTaskName(sccIdx) + ": [");
-                    for (int i = 0; i < scc.size(); i++) {
-                        System.out.print(graph.getTaskName(scc.get(i)));
-                        if (i < scc.size() - 1) System.out.print(", ");
-                    }
-                    System.out.println("]");
-                }
+        List<String> filepaths = new ArrayList<>();
+        ResultExporter exporter = null;
+        String exportDirectory = null;
+        int workers = 0;
+        boolean scheduleDetail = false;
+        for (String arg : args) {
+            if (arg.startsWith("--export-json=")) {
+                exporter = new ResultExporter(ResultExporter.Format.JSON);
+                exportDirectory = arg.substring("--export-json=".length());
+            } else if (arg.startsWith("--export-csv=")) {
+                exporter = new ResultExporter(ResultExporter.Format.CSV);
+                exportDirectory = arg.substring("--export-csv=".length());
+            } else if (arg.equals("--schedule-detail")) {
+                scheduleDetail = true;
+            } else if (arg.startsWith("--workers=")) {
+                workers = Integer.parseInt(arg.substring("--workers=".length()));
+            } else {
+                filepaths.add(arg);
             }
-
-            if (topoOrder != null) {
-                Metrics spMetrics = new Metrics();
-                DAGShortestPath dagSP = new DAGShortestPath(condensation, spMetrics);
-
-                int condensedSource = findSCCContaining(sccs, source);
-
-                DAGShortestPath.PathResult shortestResult = dagSP.shortestPaths(condensedSource);
-                dagSP.printShortestPaths(shortestResult);
-                System.out.println("\nShortest Path Metrics: " + spMetrics);
-
-                spMetrics.reset();
-                DAGShortestPath.CriticalPath criticalPath = dagSP.findCriticalPath();
-                dagSP.printCriticalPath(criticalPath);
-                System.out.println("\nLongest Path Metrics: " + spMetrics);
+        }
+        if (filepaths.isEmpty()) {
+            for (String dataset : datasets) {
+                filepaths.add("data/" + dataset + ".json");
             }
-
-        } catch (IOException e) {
-            System.err.println("Error loading dataset: " + filepath);
-            e.printStackTrace();
-        } catch (Exception e) {
-            System.err.println("Error processing dataset: " + filepath);
-            e.printStackTrace();
         }
-    }
 
-    private static int findSCCContaining(List<List<Integer>> sccs, int vertex) {
-        for (int i = 0; i < sccs.size(); i++) {
-            if (sccs.get(i).contains(vertex)) {
-                return i;
-            }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Semaphore cpuPermits = new Semaphore(parallelism);
+        GraphPipeline pipeline = new GraphPipeline(PHASES, cpuPermits);
+        pipeline.setWorkers(workers);
+        pipeline.setScheduleDetail(scheduleDetail);
+        if (exporter != null) {
+            pipeline.setExport(exporter, Paths.get(exportDirectory));
+        }
+        try (PipelineRunner runner = new PipelineRunner(pipeline, parallelism)) {
+            runner.run(filepaths, System.out, System.err);
         }
-        return 0;
+
+        System.out.println("\nPHASE TIMINGS");
+        System.out.print(PHASES.phaseReport());
+
+        System.out.println("\nALL TESTS COMPLETED");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,295 @@
+package graph.common;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryGraphFormat {
+    public static final int MAGIC = 0x42474144;
+    public static final int VERSION = 2;
+    public static final String EXTENSION = ".bin";
+
+    private static final int FLAG_DIRECTED = 1;
+    private static final int FLAG_NODE_WEIGHTS = 2;
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            File[] files = new File("data").listFiles((dir, name) -> name.endsWith(".json"));
+            if (files == null) {
+                System.err.println("No data directory found");
+                return;
+            }
+            for (File file : files) {
+                String json = file.getPath();
+                convert(json, json.substring(0, json.length() - ".json".length()) + EXTENSION);
+            }
+            return;
+        }
+
+        for (String json : args) {
+            convert(json, json.replaceAll("\\.json$", "") + EXTENSION);
+        }
+    }
+
+    public static void convert(String jsonPath, String binaryPath) throws IOException {
+        write(DataLoader.loadDataset(jsonPath), Paths.get(binaryPath));
+        System.out.println("Converted: " + jsonPath + " -> " + binaryPath);
+    }
+
+    public static boolean isBinary(String filepath) {
+        return filepath.endsWith(EXTENSION);
+    }
+
+    public static void write(GraphDataset dataset, Path path) throws IOException {
+        CSRGraph graph = dataset.graph;
+        int n = graph.getNumVertices();
+        int m = graph.countEdges();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+            int flags = (dataset.directed ? FLAG_DIRECTED : 0) | (graph.hasNodeWeights() ? FLAG_NODE_WEIGHTS : 0);
+            writeHeader(channel, buffer, n, m, dataset.source, flags, dataset.weightModel);
+            writeInts(channel, buffer, graph.getOffsets(), n + 1);
+            pad(channel, buffer);
+            writeInts(channel, buffer, graph.getTargets(), m);
+            pad(channel, buffer);
+            writeDoubles(channel, buffer, graph.getWeights(), m);
+            if (graph.hasNodeWeights()) {
+                pad(channel, buffer);
+                writeDoubles(channel, buffer, graph.getNodeWeights(), n);
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    public static EdgeWriter open(Path path, int[] offsets, int source, boolean directed,
+                                  String weightModel) throws IOException {
+        return new EdgeWriter(path, offsets, source, directed, weightModel);
+    }
+
+    private static void writeHeader(FileChannel channel, ByteBuffer buffer, int n, int m, int source,
+                                    int flags, String weightModel) throws IOException {
+        byte[] weightModelBytes = weightModel.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(flags);
+        buffer.putInt(n);
+        buffer.putInt(m);
+        buffer.putInt(source);
+        buffer.putInt(weightModelBytes.length);
+        buffer.put(weightModelBytes);
+        pad(channel, buffer);
+    }
+
+    public static GraphDataset read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, 64 * 1024));
+            header.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (header.remaining() < 28 || header.getInt() != MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = header.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + ": " + path);
+            }
+
+            int flags = header.getInt();
+            int n = header.getInt();
+            int m = header.getInt();
+            int source = header.getInt();
+            int weightModelLength = header.getInt();
+            if (weightModelLength < 0 || weightModelLength > header.remaining()) {
+                throw new IOException("Corrupt binary graph header: " + path);
+            }
+            byte[] weightModel = new byte[weightModelLength];
+            header.get(weightModel);
+
+            long position = align(header.position());
+            boolean hasNodeWeights = (flags & FLAG_NODE_WEIGHTS) != 0;
+            long expected = align(align(position + 4L * (n + 1)) + 4L * m) + 8L * m;
+            if (hasNodeWeights) {
+                expected = align(expected) + 8L * n;
+            }
+            if (n < 0 || m < 0 || expected > size) {
+                throw new IOException("Truncated binary graph file: " + path);
+            }
+
+            int[] offsets = new int[n + 1];
+            position = align(readInts(channel, position, offsets));
+            int[] targets = new int[m];
+            position = align(readInts(channel, position, targets));
+            if (offsets[0] != 0 || offsets[n] != m) {
+                throw new IOException("Corrupt binary graph offsets: " + path);
+            }
+            for (int v = 0; v < n; v++) {
+                if (offsets[v + 1] < offsets[v]) {
+                    throw new IOException("Corrupt binary graph offsets: " + path);
+                }
+            }
+            for (int target : targets) {
+                if (target < 0 || target >= n) {
+                    throw new IOException("Corrupt binary graph targets: " + path);
+                }
+            }
+            double[] weights = new double[m];
+            position = align(readDoubles(channel, position, weights));
+            double[] nodeWeights = null;
+            if (hasNodeWeights) {
+                nodeWeights = new double[n];
+                readDoubles(channel, position, nodeWeights);
+                for (double weight : nodeWeights) {
+                    if (!(weight >= 0) || Double.isInfinite(weight)) {
+                        throw new IOException("Corrupt binary graph node weights: " + path);
+                    }
+                }
+            }
+
+            CSRGraph graph = new CSRGraph(n, offsets, targets, weights, null, nodeWeights);
+            return new GraphDataset(graph, source, (flags & FLAG_DIRECTED) != 0,
+                    new String(weightModel, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static long readInts(FileChannel channel, long position, int[] dst) throws IOException {
+        int done = 0;
+        while (done < dst.length) {
+            int count = Math.min(dst.length - done, WINDOW_BYTES / Integer.BYTES);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Integer.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(dst, done, count);
+            position += (long) count * Integer.BYTES;
+            done += count;
+        }
+        return position;
+    }
+
+    private static long readDoubles(FileChannel channel, long position, double[] dst) throws IOException {
+        int done = 0;
+        while (done < dst.length) {
+            int count = Math.min(dst.length - done, WINDOW_BYTES / Double.BYTES);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Double.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(dst, done, count);
+            position += (long) count * Double.BYTES;
+            done += count;
+        }
+        return position;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static void pad(FileChannel channel, ByteBuffer buffer) throws IOException {
+        ensure(channel, buffer, Long.BYTES);
+        while (((channel.position() + buffer.position()) & 7) != 0) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] src, int count) throws IOException {
+        int done = 0;
+        while (done < count) {
+            ensure(channel, buffer, Integer.BYTES);
+            int chunk = Math.min(count - done, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(src, done, chunk);
+            buffer.position(buffer.position() + chunk * Integer.BYTES);
+            done += chunk;
+        }
+    }
+
+    private static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] src, int count) throws IOException {
+        int done = 0;
+        while (done < count) {
+            ensure(channel, buffer, Double.BYTES);
+            int chunk = Math.min(count - done, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(src, done, chunk);
+            buffer.position(buffer.position() + chunk * Double.BYTES);
+            done += chunk;
+        }
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+            buffer.clear();
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    public static final class EdgeWriter implements Closeable {
+        private final FileChannel channel;
+        private final int numEdges;
+        private final long targetsStart;
+        private final long weightsStart;
+
+        private EdgeWriter(Path path, int[] offsets, int source, boolean directed,
+                           String weightModel) throws IOException {
+            int n = offsets.length - 1;
+            numEdges = offsets[n];
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+                writeHeader(channel, buffer, n, numEdges, source, directed ? FLAG_DIRECTED : 0, weightModel);
+                writeInts(channel, buffer, offsets, n + 1);
+                pad(channel, buffer);
+                flush(channel, buffer);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            targetsStart = channel.position();
+            weightsStart = align(targetsStart + 4L * numEdges);
+        }
+
+        public void write(int firstEdge, int[] targets, double[] weights, int from, int count) throws IOException {
+            if (firstEdge < 0 || count < 0 || firstEdge > numEdges - count) {
+                throw new IllegalArgumentException("Edge range out of bounds: " + firstEdge + "+" + count);
+            }
+
+            ByteBuffer targetBytes = ByteBuffer.allocate(count * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            targetBytes.asIntBuffer().put(targets, from, count);
+            writeFully(targetBytes, targetsStart + 4L * firstEdge);
+
+            ByteBuffer weightBytes = ByteBuffer.allocate(count * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            weightBytes.asDoubleBuffer().put(weights, from, count);
+            writeFully(weightBytes, weightsStart + 8L * firstEdge);
+        }
+
+        private void writeFully(ByteBuffer bytes, long position) throws IOException {
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (numEdges > 0 && channel.size() < weightsStart + 8L * numEdges) {
+                    throw new IOException("Binary graph closed before all " + numEdges + " edges were written");
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
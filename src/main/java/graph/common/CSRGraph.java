@@ -0,0 +1,268 @@
+package graph.common;
+
+import java.util.Arrays;
+
+public class CSRGraph {
+    private final int numVertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final TaskNames taskNames;
+    private final double[] nodeWeights;
+    private volatile ReverseIndex reverseIndex;
+    private volatile CSRGraph transposed;
+
+    public CSRGraph(int numVertices, int[] offsets, int[] targets, double[] weights, String[] taskNames) {
+        this(numVertices, offsets, targets, weights, new TaskNames(numVertices, taskNames), null);
+    }
+
+    public CSRGraph(int numVertices, int[] offsets, int[] targets, double[] weights, String[] taskNames,
+                    double[] nodeWeights) {
+        this(numVertices, offsets, targets, weights, new TaskNames(numVertices, taskNames), nodeWeights);
+    }
+
+    private CSRGraph(int numVertices, int[] offsets, int[] targets, double[] weights, TaskNames taskNames,
+                     double[] nodeWeights) {
+        if (offsets.length != numVertices + 1) {
+            throw new IllegalArgumentException("offsets must have numVertices + 1 entries");
+        }
+        if (targets.length != weights.length || offsets[numVertices] > targets.length) {
+            throw new IllegalArgumentException("targets and weights must cover every edge");
+        }
+        if (nodeWeights != null && nodeWeights.length != numVertices) {
+            throw new IllegalArgumentException("nodeWeights must have one entry per vertex");
+        }
+        this.numVertices = numVertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.taskNames = taskNames;
+        this.nodeWeights = nodeWeights;
+    }
+
+    public static CSRGraph fromGraph(Graph graph) {
+        int n = graph.getNumVertices();
+        int[] offsets = new int[n + 1];
+
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + graph.getNeighbors(v).size();
+        }
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+
+        for (int v = 0; v < n; v++) {
+            int e = offsets[v];
+            for (Graph.Edge edge : graph.getNeighbors(v)) {
+                targets[e] = edge.to;
+                weights[e] = edge.weight;
+                e++;
+            }
+        }
+
+        return new CSRGraph(n, offsets, targets, weights, graph.getAssignedTaskNames(), graph.getNodeWeights());
+    }
+
+    public static CSRGraph fromEdges(int numVertices, int[] from, int[] to, double[] weight, int numEdges) {
+        int[] offsets = new int[numVertices + 1];
+        for (int e = 0; e < numEdges; e++) {
+            checkVertex(from[e], numVertices);
+            checkVertex(to[e], numVertices);
+            offsets[from[e] + 1]++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] next = Arrays.copyOf(offsets, numVertices);
+        int[] targets = new int[numEdges];
+        double[] weights = new double[numEdges];
+
+        for (int e = 0; e < numEdges; e++) {
+            int slot = next[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = weight[e];
+        }
+
+        return new CSRGraph(numVertices, offsets, targets, weights, new TaskNames(numVertices), null);
+    }
+
+    private static void checkVertex(int v, int numVertices) {
+        if (v < 0 || v >= numVertices) {
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + numVertices + ")");
+        }
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public int countEdges() {
+        return offsets[numVertices];
+    }
+
+    public int edgeStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    public int edgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    public int outDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public double getWeight(int edge) {
+        return weights[edge];
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public double[] getWeights() {
+        return weights;
+    }
+
+    public boolean hasNodeWeights() {
+        return nodeWeights != null;
+    }
+
+    public double getNodeWeight(int vertex) {
+        return nodeWeights == null ? 0 : nodeWeights[vertex];
+    }
+
+    public double[] getNodeWeights() {
+        return nodeWeights;
+    }
+
+    public CSRGraph withNodeWeights(double[] nodeWeights) {
+        return new CSRGraph(numVertices, offsets, targets, weights, taskNames, nodeWeights);
+    }
+
+    public String getTaskName(int id) {
+        return taskNames.get(id);
+    }
+
+    public Integer getTaskId(String name) {
+        int id = taskNames.find(name);
+        return id >= 0 ? id : null;
+    }
+
+    public int inEdgeStart(int vertex) {
+        return reverseIndex().offsets[vertex];
+    }
+
+    public int inEdgeEnd(int vertex) {
+        return reverseIndex().offsets[vertex + 1];
+    }
+
+    public int inDegree(int vertex) {
+        int[] inOffsets = reverseIndex().offsets;
+        return inOffsets[vertex + 1] - inOffsets[vertex];
+    }
+
+    public int[] getInOffsets() {
+        return reverseIndex().offsets;
+    }
+
+    public int[] getSources() {
+        return reverseIndex().sources;
+    }
+
+    public int[] getInEdges() {
+        return reverseIndex().edges;
+    }
+
+    public CSRGraph transpose() {
+        CSRGraph view = transposed;
+        if (view == null) {
+            synchronized (this) {
+                view = transposed;
+                if (view == null) {
+                    ReverseIndex index = reverseIndex();
+                    double[] reverseWeights = new double[index.edges.length];
+                    for (int k = 0; k < reverseWeights.length; k++) {
+                        reverseWeights[k] = weights[index.edges[k]];
+                    }
+                    view = new CSRGraph(numVertices, index.offsets, index.sources, reverseWeights, taskNames,
+                            nodeWeights);
+                    view.transposed = this;
+                    transposed = view;
+                }
+            }
+        }
+        return view;
+    }
+
+    private ReverseIndex reverseIndex() {
+        ReverseIndex index = reverseIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = reverseIndex;
+                if (index == null) {
+                    index = new ReverseIndex(this);
+                    reverseIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    public Graph toGraph() {
+        Graph graph = new Graph(numVertices, taskNames.copy());
+        if (nodeWeights != null) {
+            for (int v = 0; v < numVertices; v++) {
+                graph.setNodeWeight(v, nodeWeights[v]);
+            }
+        }
+
+        for (int v = 0; v < numVertices; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                graph.addEdge(v, targets[e], weights[e]);
+            }
+        }
+
+        return graph;
+    }
+
+    private static class ReverseIndex {
+        private final int[] offsets;
+        private final int[] sources;
+        private final int[] edges;
+
+        ReverseIndex(CSRGraph graph) {
+            int n = graph.numVertices;
+            int m = graph.countEdges();
+            int[] targets = graph.targets;
+
+            offsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                offsets[targets[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] next = Arrays.copyOf(offsets, n);
+            sources = new int[m];
+            edges = new int[m];
+            for (int v = 0; v < n; v++) {
+                for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                    int slot = next[targets[e]]++;
+                    sources[slot] = v;
+                    edges[slot] = e;
+                }
+            }
+        }
+    }
+}
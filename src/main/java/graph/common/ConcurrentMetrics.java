@@ -0,0 +1,94 @@
+package graph.common;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentMetrics extends Metrics {
+    private final LongAdder dfsVisits = new LongAdder();
+    private final LongAdder edgeTraversals = new LongAdder();
+    private final LongAdder stackOperations = new LongAdder();
+    private final LongAdder relaxations = new LongAdder();
+    private volatile long startTime;
+    private volatile long endTime;
+
+    @Override
+    public void startTimer() {
+        startTime = System.nanoTime();
+    }
+
+    @Override
+    public void stopTimer() {
+        endTime = System.nanoTime();
+    }
+
+    @Override
+    public double getElapsedTimeMs() {
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    @Override
+    protected synchronized void recordPhase(Phase phase, long start, long end) {
+        startTime = start;
+        endTime = end;
+        getPhaseHistogram(phase).record(end - start);
+    }
+
+    @Override
+    public void incrementDfsVisits() {
+        dfsVisits.increment();
+    }
+
+    @Override
+    public void incrementEdgeTraversals() {
+        edgeTraversals.increment();
+    }
+
+    @Override
+    public void incrementStackOperations() {
+        stackOperations.increment();
+    }
+
+    @Override
+    public void incrementRelaxations() {
+        relaxations.increment();
+    }
+
+    @Override
+    public void addDfsVisits(long count) {
+        dfsVisits.add(count);
+    }
+
+    @Override
+    public void addEdgeTraversals(long count) {
+        edgeTraversals.add(count);
+    }
+
+    @Override
+    public void addStackOperations(long count) {
+        stackOperations.add(count);
+    }
+
+    @Override
+    public void addRelaxations(long count) {
+        relaxations.add(count);
+    }
+
+    @Override
+    public long getDfsVisits() { return dfsVisits.sum(); }
+    @Override
+    public long getEdgeTraversals() { return edgeTraversals.sum(); }
+    @Override
+    public long getStackOperations() { return stackOperations.sum(); }
+    @Override
+    public long getRelaxations() { return relaxations.sum(); }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        startTime = 0;
+        endTime = 0;
+        dfsVisits.reset();
+        edgeTraversals.reset();
+        stackOperations.reset();
+        relaxations.reset();
+    }
+}
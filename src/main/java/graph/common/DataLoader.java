@@ -2,40 +2,161 @@ package graph.common;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Map;
 
 public class DataLoader {
 
     public static Graph loadGraph(String filepath) throws IOException {
-        Gson gson = new Gson();
-        FileReader reader = new FileReader(filepath);
+        return loadDataset(filepath).toGraph();
+    }
 
-        Map<String, Object> data = gson.fromJson(reader,
-                new TypeToken<Map<String, Object>>(){}.getType());
-        reader.close();
+    public static CSRGraph loadCSRGraph(String filepath) throws IOException {
+        return loadDataset(filepath).graph;
+    }
 
-        int numNodes = ((Double) data.get("n")).intValue();
-        Graph graph = new Graph(numNodes);
+    public static GraphDataset loadDataset(String filepath, Metrics metrics) throws IOException {
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.LOAD);
+        try {
+            return loadDataset(filepath);
+        } finally {
+            timer.stop();
+        }
+    }
 
-        for (int i = 0; i < numNodes; i++) {
-            graph.setTaskName(i, "Task" + i);
+    public static GraphDataset loadDataset(String filepath) throws IOException {
+        if (BinaryGraphFormat.isBinary(filepath)) {
+            return BinaryGraphFormat.read(Paths.get(filepath));
         }
 
-        List<Map<String, Object>> edges =
-                (List<Map<String, Object>>) data.get("edges");
+        try (JsonReader reader = openReader(filepath)) {
+            int numNodes = -1;
+            int source = 0;
+            boolean directed = true;
+            String weightModel = GraphDataset.EDGE_WEIGHTS;
+            EdgeBuffer edges = new EdgeBuffer();
+            double[] nodeWeights = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "n":
+                        numNodes = reader.nextInt();
+                        break;
+                    case "source":
+                        source = reader.nextInt();
+                        break;
+                    case "directed":
+                        directed = reader.nextBoolean();
+                        break;
+                    case "weight_model":
+                        weightModel = reader.nextString();
+                        break;
+                    case "edges":
+                        readEdges(reader, edges);
+                        break;
+                    case "node_weights":
+                        nodeWeights = readDoubles(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
 
-        for (Map<String, Object> edge : edges) {
-            int u = ((Double) edge.get("u")).intValue();
-            int v = ((Double) edge.get("v")).intValue();
-            double w = ((Double) edge.get("w")).doubleValue();
+            if (numNodes < 0) {
+                throw new IOException("Missing \"n\" in " + filepath);
+            }
+            if (!GraphDataset.isWeightModel(weightModel)) {
+                throw new IOException("Unknown weight_model \"" + weightModel + "\" in " + filepath);
+            }
+            if (GraphDataset.usesNodeWeights(weightModel)) {
+                if (nodeWeights == null || nodeWeights.length != numNodes) {
+                    throw new IOException("weight_model \"" + weightModel
+                            + "\" needs \"node_weights\" with " + numNodes + " entries in " + filepath);
+                }
+                for (double weight : nodeWeights) {
+                    if (!(weight >= 0) || Double.isInfinite(weight)) {
+                        throw new IOException("node_weights must be finite and non-negative in " + filepath);
+                    }
+                }
+                if (GraphDataset.NODE_WEIGHTS.equals(weightModel)) {
+                    Arrays.fill(edges.weight, 0, edges.size, 0.0);
+                }
+            } else {
+                nodeWeights = null;
+            }
+            if (!directed) {
+                edges.addReversed();
+            }
 
-            graph.addEdge(u, v, w);
+            CSRGraph graph = CSRGraph.fromEdges(numNodes, edges.from, edges.to, edges.weight, edges.size);
+            if (nodeWeights != null) {
+                graph = graph.withNodeWeights(nodeWeights);
+            }
+            return new GraphDataset(graph, source, directed, weightModel);
         }
+    }
+
+    private static void readEdges(JsonReader reader, EdgeBuffer edges) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int u = -1;
+            int v = -1;
+            double w = 1.0;
 
-        return graph;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "u":
+                        u = reader.nextInt();
+                        break;
+                    case "v":
+                        v = reader.nextInt();
+                        break;
+                    case "w":
+                        w = reader.nextDouble();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (u < 0 || v < 0) {
+                throw new IOException("Edge without \"u\"/\"v\" at " + reader.getPath());
+            }
+            edges.add(u, v, w);
+        }
+        reader.endArray();
+    }
+
+    private static double[] readDoubles(JsonReader reader) throws IOException {
+        double[] values = new double[64];
+        int size = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = reader.nextDouble();
+        }
+        reader.endArray();
+
+        return Arrays.copyOf(values, size);
+    }
+
+    private static JsonReader openReader(String filepath) throws IOException {
+        BufferedReader in = Files.newBufferedReader(Paths.get(filepath), StandardCharsets.UTF_8);
+        return new JsonReader(in);
     }
 
     public static Map<String, Object> getMetadata(String filepath) throws IOException {
@@ -50,10 +171,46 @@ public class DataLoader {
     }
 
     public static int getSource(String filepath) throws IOException {
-        Map<String, Object> data = getMetadata(filepath);
-        if (data.containsKey("source")) {
-            return ((Double) data.get("source")).intValue();
+        if (BinaryGraphFormat.isBinary(filepath)) {
+            return loadDataset(filepath).source;
+        }
+
+        try (JsonReader reader = openReader(filepath)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("source")) {
+                    return reader.nextInt();
+                }
+                reader.skipValue();
+            }
         }
         return 0;
     }
-}
\ No newline at end of file
+
+    private static class EdgeBuffer {
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        double[] weight = new double[1024];
+        int size;
+
+        void add(int u, int v, double w) {
+            if (size == from.length) {
+                int capacity = size + (size >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+        }
+
+        void addReversed() {
+            int original = size;
+            for (int e = 0; e < original; e++) {
+                add(to[e], from[e], weight[e]);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package graph.common;
+
+import java.util.Locale;
+
+public final class Formatting {
+    private Formatting() {
+    }
+
+    public static StringBuilder appendFixed(StringBuilder sb, double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15 && (value != 0 || 1 / value > 0)) {
+            return sb.append((long) value).append(".00");
+        }
+        return sb.append(String.format(Locale.ROOT, "%.2f", value));
+    }
+}
@@ -5,14 +5,17 @@ import java.util.*;
 public class Graph {
     private final int numVertices;
     private final List<List<Edge>> adjacencyList;
-    private final Map<String, Integer> taskNameToId;
-    private final Map<Integer, String> idToTaskName;
+    private final TaskNames taskNames;
+    private double[] nodeWeights;
 
     public Graph(int numVertices) {
+        this(numVertices, new TaskNames(numVertices));
+    }
+
+    Graph(int numVertices, TaskNames taskNames) {
         this.numVertices = numVertices;
         this.adjacencyList = new ArrayList<>(numVertices);
-        this.taskNameToId = new HashMap<>();
-        this.idToTaskName = new HashMap<>();
+        this.taskNames = taskNames;
 
         for (int i = 0; i < numVertices; i++) {
             adjacencyList.add(new ArrayList<>());
@@ -28,16 +31,36 @@ public class Graph {
     }
 
     public void setTaskName(int id, String name) {
-        taskNameToId.put(name, id);
-        idToTaskName.put(id, name);
+        taskNames.set(id, name);
+    }
+
+    public void setNodeWeight(int vertex, double weight) {
+        Objects.checkIndex(vertex, numVertices);
+        if (nodeWeights == null) {
+            nodeWeights = new double[numVertices];
+        }
+        nodeWeights[vertex] = weight;
+    }
+
+    public double getNodeWeight(int vertex) {
+        return nodeWeights == null ? 0 : nodeWeights[vertex];
+    }
+
+    double[] getNodeWeights() {
+        return nodeWeights == null ? null : nodeWeights.clone();
     }
 
     public String getTaskName(int id) {
-        return idToTaskName.getOrDefault(id, "Task" + id);
+        return taskNames.get(id);
+    }
+
+    String[] getAssignedTaskNames() {
+        return taskNames.toArray();
     }
 
     public Integer getTaskId(String name) {
-        return taskNameToId.get(name);
+        int id = taskNames.find(name);
+        return id >= 0 ? id : null;
     }
 
     public int getNumVertices() {
@@ -52,11 +75,14 @@ public class Graph {
         return adjacencyList;
     }
 
-    public Graph transpose() {
-        Graph transposed = new Graph(numVertices);
+    public CSRGraph toCSR() {
+        return CSRGraph.fromGraph(this);
+    }
 
-        for (Map.Entry<Integer, String> entry : idToTaskName.entrySet()) {
-            transposed.setTaskName(entry.getKey(), entry.getValue());
+    public Graph transpose() {
+        Graph transposed = new Graph(numVertices, taskNames.copy());
+        if (nodeWeights != null) {
+            transposed.nodeWeights = nodeWeights.clone();
         }
 
         for (int v = 0; v < numVertices; v++) {
@@ -0,0 +1,34 @@
+package graph.common;
+
+public class GraphDataset {
+    public static final String EDGE_WEIGHTS = "edge";
+    public static final String NODE_WEIGHTS = "node";
+    public static final String NODE_AND_EDGE_WEIGHTS = "node+edge";
+
+    public final CSRGraph graph;
+    public final int n;
+    public final int source;
+    public final boolean directed;
+    public final String weightModel;
+
+    public GraphDataset(CSRGraph graph, int source, boolean directed, String weightModel) {
+        this.graph = graph;
+        this.n = graph.getNumVertices();
+        this.source = source;
+        this.directed = directed;
+        this.weightModel = weightModel;
+    }
+
+    public static boolean isWeightModel(String weightModel) {
+        return EDGE_WEIGHTS.equals(weightModel) || NODE_WEIGHTS.equals(weightModel)
+                || NODE_AND_EDGE_WEIGHTS.equals(weightModel);
+    }
+
+    public static boolean usesNodeWeights(String weightModel) {
+        return NODE_WEIGHTS.equals(weightModel) || NODE_AND_EDGE_WEIGHTS.equals(weightModel);
+    }
+
+    public Graph toGraph() {
+        return graph.toGraph();
+    }
+}
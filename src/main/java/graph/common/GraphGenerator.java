@@ -0,0 +1,453 @@
+package graph.common;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class GraphGenerator {
+    public enum Model {
+        POWER_LAW, LAYERED_DAG, CLUSTERED_SCC
+    }
+
+    public static final double DEFAULT_EXPONENT = 2.5;
+    public static final int DEFAULT_LAYER_SPAN = 2;
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    private static final int CHUNK_EDGES = 1 << 18;
+    private static final int MAX_WEIGHT = 5;
+    private static final String WEIGHT_MODEL = "edge";
+
+    private final Model model;
+    private final int numVertices;
+    private final long numEdges;
+    private final long seed;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private double exponent = DEFAULT_EXPONENT;
+    private int layers;
+    private int layerSpan = DEFAULT_LAYER_SPAN;
+    private int clusterSize = DEFAULT_CLUSTER_SIZE;
+
+    public GraphGenerator(Model model, int numVertices, long numEdges, long seed) {
+        if (numVertices < 1) {
+            throw new IllegalArgumentException("numVertices must be positive");
+        }
+        if (numEdges < 0) {
+            throw new IllegalArgumentException("numEdges must not be negative");
+        }
+        this.model = model;
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+        this.seed = seed;
+        this.layers = Math.max(2, Math.min(numVertices, (int) Math.sqrt(numVertices)));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.err.println("Usage: GraphGenerator <POWER_LAW|LAYERED_DAG|CLUSTERED_SCC> "
+                    + "<vertices> <edges> <seed> <output.json|output.bin>...");
+            return;
+        }
+
+        GraphGenerator generator = new GraphGenerator(Model.valueOf(args[0].toUpperCase()),
+                Integer.parseInt(args[1]), Long.parseLong(args[2]), Long.parseLong(args[3]));
+
+        Path json = null;
+        Path binary = null;
+        for (int i = 4; i < args.length; i++) {
+            if (BinaryGraphFormat.isBinary(args[i])) {
+                binary = Paths.get(args[i]);
+            } else {
+                json = Paths.get(args[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        int edges = generator.write(json, binary);
+        System.out.printf("Generated %s: %d vertices, %d edges in %.1f s%n", generator.model,
+                generator.numVertices, edges, (System.nanoTime() - start) / 1e9);
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public void setExponent(double exponent) {
+        if (exponent <= 1) {
+            throw new IllegalArgumentException("exponent must be greater than 1");
+        }
+        this.exponent = exponent;
+    }
+
+    public void setLayers(int layers) {
+        if (layers < 1 || layers > numVertices) {
+            throw new IllegalArgumentException("layers must be between 1 and the vertex count");
+        }
+        this.layers = layers;
+    }
+
+    public void setLayerSpan(int layerSpan) {
+        if (layerSpan < 1) {
+            throw new IllegalArgumentException("layerSpan must be at least 1");
+        }
+        this.layerSpan = layerSpan;
+    }
+
+    public void setClusterSize(int clusterSize) {
+        if (clusterSize < 1) {
+            throw new IllegalArgumentException("clusterSize must be at least 1");
+        }
+        this.clusterSize = clusterSize;
+    }
+
+    public CSRGraph generate() {
+        int[] offsets = computeOffsets();
+        int m = offsets[numVertices];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+
+        try {
+            run(offsets, targets, weights, null, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return new CSRGraph(numVertices, offsets, targets, weights, null);
+    }
+
+    public GraphDataset generateDataset() {
+        return new GraphDataset(generate(), 0, true, WEIGHT_MODEL);
+    }
+
+    public int writeJson(Path path) throws IOException {
+        return write(path, null);
+    }
+
+    public int writeBinary(Path path) throws IOException {
+        return write(null, path);
+    }
+
+    public int write(Path json, Path binary) throws IOException {
+        int[] offsets = computeOffsets();
+
+        try (Writer out = json == null ? null : Files.newBufferedWriter(json, StandardCharsets.UTF_8);
+             BinaryGraphFormat.EdgeWriter edgeWriter = binary == null ? null
+                     : BinaryGraphFormat.open(binary, offsets, 0, true, WEIGHT_MODEL)) {
+            if (out != null) {
+                out.write("{\"directed\":true,\"n\":" + numVertices
+                        + ",\"source\":0,\"weight_model\":\"" + WEIGHT_MODEL + "\",\"edges\":[");
+            }
+
+            run(offsets, null, null, out, edgeWriter);
+
+            if (out != null) {
+                out.write("\n]}\n");
+            }
+        }
+
+        return offsets[numVertices];
+    }
+
+    private int[] computeOffsets() {
+        int n = numVertices;
+        int[] offsets = new int[n + 1];
+        long total = 0;
+
+        for (int u = 0; u < n; u++) {
+            total += Math.min(plannedDegree(u), candidates(u)) + (ringTarget(u) >= 0 ? 1 : 0);
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many edges for a CSR graph: " + total);
+            }
+            offsets[u + 1] = (int) total;
+        }
+        return offsets;
+    }
+
+    private long plannedDegree(int u) {
+        switch (model) {
+            case POWER_LAW:
+                return Math.max(0, (long) Math.floor(numEdges * powerLawShare(u + 1))
+                        - (long) Math.floor(numEdges * powerLawShare(u)));
+            case LAYERED_DAG:
+                return evenShare(u, numEdges, layerStart(layers - 1));
+            case CLUSTERED_SCC:
+                return evenShare(u, Math.max(0, numEdges - ringEdges()), numVertices);
+            default:
+                throw new IllegalStateException("Unknown model " + model);
+        }
+    }
+
+    private double powerLawShare(int x) {
+        if (x >= numVertices) {
+            return 1;
+        }
+        double b = 1 / (exponent - 1);
+        if (Math.abs(b - 1) < 1e-9) {
+            return Math.log1p(x) / Math.log1p(numVertices);
+        }
+        return (Math.pow(x + 1.0, 1 - b) - 1) / (Math.pow(numVertices + 1.0, 1 - b) - 1);
+    }
+
+    private static long evenShare(int u, long total, int count) {
+        if (u >= count) {
+            return 0;
+        }
+        return (total * (u + 1)) / count - (total * u) / count;
+    }
+
+    private long ringEdges() {
+        long full = numVertices / clusterSize;
+        int rest = numVertices % clusterSize;
+        return (clusterSize > 1 ? full * clusterSize : 0) + (rest > 1 ? rest : 0);
+    }
+
+    private int layerStart(int layer) {
+        return (int) (((long) layer * numVertices + layers - 1) / layers);
+    }
+
+    private int layerOf(int u) {
+        return (int) ((long) u * layers / numVertices);
+    }
+
+    private int clusterStart(int u) {
+        return u - u % clusterSize;
+    }
+
+    private int clusterEnd(int u) {
+        return (int) Math.min(numVertices, (long) clusterStart(u) + clusterSize);
+    }
+
+    private int ringTarget(int u) {
+        if (model != Model.CLUSTERED_SCC || clusterEnd(u) - clusterStart(u) < 2) {
+            return -1;
+        }
+        return u + 1 < clusterEnd(u) ? u + 1 : clusterStart(u);
+    }
+
+    private int candidates(int u) {
+        switch (model) {
+            case POWER_LAW:
+                return numVertices - 1;
+            case LAYERED_DAG: {
+                int layer = layerOf(u);
+                return layerStart(Math.min(layers, layer + 1 + layerSpan)) - layerStart(Math.min(layers, layer + 1));
+            }
+            case CLUSTERED_SCC:
+                return numVertices - clusterStart(u) - (ringTarget(u) >= 0 ? 2 : 1);
+            default:
+                throw new IllegalStateException("Unknown model " + model);
+        }
+    }
+
+    private int candidate(int u, int x) {
+        switch (model) {
+            case POWER_LAW:
+                return x >= u ? x + 1 : x;
+            case LAYERED_DAG:
+                return layerStart(Math.min(layers, layerOf(u) + 1)) + x;
+            case CLUSTERED_SCC: {
+                int v = clusterStart(u) + x;
+                int ring = ringTarget(u);
+                int low = ring >= 0 ? Math.min(u, ring) : u;
+                int high = ring >= 0 ? Math.max(u, ring) : Integer.MAX_VALUE;
+                if (v >= low) v++;
+                if (v >= high) v++;
+                return v;
+            }
+            default:
+                throw new IllegalStateException("Unknown model " + model);
+        }
+    }
+
+    private void run(int[] offsets, int[] targets, double[] weights,
+                     Writer json, BinaryGraphFormat.EdgeWriter binary) throws IOException {
+        int[] chunkStart = chunkBoundaries(offsets);
+        int chunks = chunkStart.length - 1;
+
+        if (parallelism == 1 || chunks == 1) {
+            for (int c = 0; c < chunks; c++) {
+                consume(new Chunk(c, chunkStart[c], chunkStart[c + 1], offsets, targets, weights,
+                        json != null, binary).call(), json);
+            }
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        try {
+            for (int c = 0; c < chunks; c++) {
+                pending.add(pool.submit(new Chunk(c, chunkStart[c], chunkStart[c + 1], offsets,
+                        targets, weights, json != null, binary)));
+                if (pending.size() >= 2 * parallelism) {
+                    consume(pending.poll().get(), json);
+                }
+            }
+            while (!pending.isEmpty()) {
+                consume(pending.poll().get(), json);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Generation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void consume(Chunk chunk, Writer json) throws IOException {
+        if (json != null && chunk.text.length() > 0) {
+            int skip = chunk.edgeStart == 0 ? 1 : 0;
+            json.append(chunk.text, skip, chunk.text.length());
+        }
+    }
+
+    private int[] chunkBoundaries(int[] offsets) {
+        int[] bounds = new int[16];
+        int count = 1;
+        int from = 0;
+        for (int u = 0; u < numVertices; u++) {
+            if (offsets[u + 1] - offsets[from] >= CHUNK_EDGES) {
+                from = u + 1;
+                if (count == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, count * 2);
+                }
+                bounds[count++] = from;
+            }
+        }
+        if (bounds[count - 1] != numVertices) {
+            if (count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, count + 1);
+            }
+            bounds[count++] = numVertices;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private class Chunk implements Callable<Chunk> {
+        private final int index;
+        private final int from;
+        private final int to;
+        private final int[] offsets;
+        private final int edgeStart;
+        private final int[] targets;
+        private final double[] weights;
+        private final int base;
+        private final boolean formatJson;
+        private final BinaryGraphFormat.EdgeWriter binary;
+        private StringBuilder text = new StringBuilder();
+
+        Chunk(int index, int from, int to, int[] offsets, int[] targets, double[] weights,
+              boolean formatJson, BinaryGraphFormat.EdgeWriter binary) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.offsets = offsets;
+            this.edgeStart = offsets[from];
+            this.formatJson = formatJson;
+            this.binary = binary;
+            if (targets != null) {
+                this.targets = targets;
+                this.weights = weights;
+                this.base = 0;
+            } else {
+                this.targets = new int[offsets[to] - edgeStart];
+                this.weights = new double[offsets[to] - edgeStart];
+                this.base = edgeStart;
+            }
+        }
+
+        @Override
+        public Chunk call() throws IOException {
+            SplittableRandom rand = new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (index + 1)));
+            IntSet chosen = new IntSet();
+
+            for (int u = from; u < to; u++) {
+                int start = offsets[u] - base;
+                int end = offsets[u + 1] - base;
+                int pos = start;
+
+                int ring = ringTarget(u);
+                if (ring >= 0) {
+                    targets[pos++] = ring;
+                }
+
+                int range = candidates(u);
+                chosen.clear(end - pos);
+                for (int j = range - (end - pos); j < range; j++) {
+                    int x = rand.nextInt(j + 1);
+                    if (!chosen.add(x)) {
+                        x = j;
+                        chosen.add(x);
+                    }
+                    targets[pos++] = candidate(u, x);
+                }
+
+                Arrays.sort(targets, start, end);
+                for (int e = start; e < end; e++) {
+                    weights[e] = 1 + rand.nextInt(MAX_WEIGHT);
+                }
+
+                if (formatJson) {
+                    for (int e = start; e < end; e++) {
+                        text.append(",\n{\"u\":").append(u)
+                                .append(",\"v\":").append(targets[e])
+                                .append(",\"w\":").append((int) weights[e]).append('}');
+                    }
+                }
+            }
+
+            if (binary != null) {
+                binary.write(edgeStart, targets, weights, edgeStart - base, offsets[to] - edgeStart);
+            }
+            return this;
+        }
+    }
+
+    private static class IntSet {
+        private int[] keys = new int[16];
+        private int[] stamps = new int[16];
+        private int stamp;
+
+        void clear(int expected) {
+            if (expected * 2 > keys.length) {
+                int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+                keys = new int[capacity];
+                stamps = new int[capacity];
+                stamp = 0;
+            }
+            if (++stamp == 0) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+        }
+
+        boolean add(int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (stamps[slot] == stamp) {
+                if (keys[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            stamps[slot] = stamp;
+            keys[slot] = key;
+            return true;
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package graph.common;
 
 public class Metrics {
+    public enum Phase {
+        LOAD, SCC, CONDENSE, TOPO, PATHS, REACH, SCHEDULE
+    }
+
+    private static final Metrics NO_OP = new NoOpMetrics();
+
+    private final LatencyHistogram[] phases;
     private long startTime;
     private long endTime;
-    private int dfsVisits;
-    private int edgeTraversals;
-    private int stackOperations;
-    private int relaxations;
+    private long dfsVisits;
+    private long edgeTraversals;
+    private long stackOperations;
+    private long relaxations;
 
     public Metrics() {
-        reset();
+        phases = new LatencyHistogram[Phase.values().length];
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    public static Metrics noOp() {
+        return NO_OP;
     }
 
     public void startTimer() {
@@ -24,6 +38,22 @@ public class Metrics {
         return (endTime - startTime) / 1_000_000.0;
     }
 
+    public PhaseTimer startPhase(Phase phase) {
+        PhaseEvent event = new PhaseEvent();
+        event.begin();
+        return new PhaseTimer(this, phase, System.nanoTime(), event);
+    }
+
+    protected void recordPhase(Phase phase, long start, long end) {
+        startTime = start;
+        endTime = end;
+        phases[phase.ordinal()].record(end - start);
+    }
+
+    public LatencyHistogram getPhaseHistogram(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
     public void incrementDfsVisits() {
         dfsVisits++;
     }
@@ -40,10 +70,36 @@ public class Metrics {
         relaxations++;
     }
 
-    public int getDfsVisits() { return dfsVisits; }
-    public int getEdgeTraversals() { return edgeTraversals; }
-    public int getStackOperations() { return stackOperations; }
-    public int getRelaxations() { return relaxations; }
+    public void addDfsVisits(long count) {
+        dfsVisits += count;
+    }
+
+    public void addEdgeTraversals(long count) {
+        edgeTraversals += count;
+    }
+
+    public void addStackOperations(long count) {
+        stackOperations += count;
+    }
+
+    public void addRelaxations(long count) {
+        relaxations += count;
+    }
+
+    public long getDfsVisits() { return dfsVisits; }
+    public long getEdgeTraversals() { return edgeTraversals; }
+    public long getStackOperations() { return stackOperations; }
+    public long getRelaxations() { return relaxations; }
+
+    public void merge(Metrics other) {
+        addDfsVisits(other.getDfsVisits());
+        addEdgeTraversals(other.getEdgeTraversals());
+        addStackOperations(other.getStackOperations());
+        addRelaxations(other.getRelaxations());
+        for (Phase phase : Phase.values()) {
+            getPhaseHistogram(phase).merge(other.getPhaseHistogram(phase));
+        }
+    }
 
     public void reset() {
         startTime = 0;
@@ -52,11 +108,65 @@ public class Metrics {
         edgeTraversals = 0;
         stackOperations = 0;
         relaxations = 0;
+        for (LatencyHistogram histogram : phases) {
+            histogram.reset();
+        }
+    }
+
+    public String phaseReport() {
+        StringBuilder sb = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = getPhaseHistogram(phase);
+            if (histogram.getCount() > 0) {
+                sb.append(String.format("%-9s %s%n", phase, histogram));
+            }
+        }
+        return sb.toString();
     }
 
     @Override
     public String toString() {
         return String.format("Time: %.3f ms | DFS Visits: %d | Edges: %d | Stack Ops: %d | Relaxations: %d",
-                getElapsedTimeMs(), dfsVisits, edgeTraversals, stackOperations, relaxations);
+                getElapsedTimeMs(), getDfsVisits(), getEdgeTraversals(), getStackOperations(), getRelaxations());
+    }
+
+    public static final class PhaseTimer implements AutoCloseable {
+        private final Metrics metrics;
+        private final Phase phase;
+        private final long start;
+        private final PhaseEvent event;
+        private boolean stopped;
+
+        PhaseTimer(Metrics metrics, Phase phase, long start, PhaseEvent event) {
+            this.metrics = metrics;
+            this.phase = phase;
+            this.start = start;
+            this.event = event;
+        }
+
+        public long stop() {
+            if (stopped || metrics == null) {
+                return 0;
+            }
+            stopped = true;
+
+            long end = System.nanoTime();
+            metrics.recordPhase(phase, start, end);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.dfsVisits = metrics.getDfsVisits();
+                event.edgeTraversals = metrics.getEdgeTraversals();
+                event.relaxations = metrics.getRelaxations();
+                event.commit();
+            }
+            return end - start;
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package graph.common;
+
+final class NoOpMetrics extends Metrics {
+    private static final PhaseTimer TIMER = new PhaseTimer(null, null, 0, null);
+
+    @Override
+    public void startTimer() {
+    }
+
+    @Override
+    public void stopTimer() {
+    }
+
+    @Override
+    public PhaseTimer startPhase(Phase phase) {
+        return TIMER;
+    }
+
+    @Override
+    protected void recordPhase(Phase phase, long start, long end) {
+    }
+
+    @Override
+    public void incrementDfsVisits() {
+    }
+
+    @Override
+    public void incrementEdgeTraversals() {
+    }
+
+    @Override
+    public void incrementStackOperations() {
+    }
+
+    @Override
+    public void incrementRelaxations() {
+    }
+
+    @Override
+    public void addDfsVisits(long count) {
+    }
+
+    @Override
+    public void addEdgeTraversals(long count) {
+    }
+
+    @Override
+    public void addStackOperations(long count) {
+    }
+
+    @Override
+    public void addRelaxations(long count) {
+    }
+
+    @Override
+    public void merge(Metrics other) {
+    }
+}
@@ -0,0 +1,27 @@
+package graph.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("graph.Phase")
+@Label("Graph Algorithm Phase")
+@Category("Graph Algorithms")
+@Description("One timed phase of the graph pipeline")
+@StackTrace(false)
+class PhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("DFS Visits")
+    long dfsVisits;
+
+    @Label("Edge Traversals")
+    long edgeTraversals;
+
+    @Label("Relaxations")
+    long relaxations;
+}
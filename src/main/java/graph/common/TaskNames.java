@@ -0,0 +1,151 @@
+package graph.common;
+
+import java.util.Objects;
+
+final class TaskNames {
+    private static final String DEFAULT_PREFIX = "Task";
+
+    private final int size;
+    private String[] names;
+    private int[] index;
+    private int indexed;
+
+    TaskNames(int size) {
+        this.size = size;
+    }
+
+    TaskNames(int size, String[] names) {
+        if (names != null && names.length != size) {
+            throw new IllegalArgumentException("taskNames must have one entry per vertex");
+        }
+        this.size = size;
+        this.names = names;
+    }
+
+    synchronized void set(int id, String name) {
+        Objects.checkIndex(id, size);
+        Objects.requireNonNull(name, "name");
+        if (names == null) {
+            names = new String[size];
+        }
+
+        String previous = names[id];
+        names[id] = name;
+        if (index == null || name.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            index = null;
+        } else {
+            insert(id);
+        }
+    }
+
+    String get(int id) {
+        String name = getAssigned(id);
+        return name != null ? name : DEFAULT_PREFIX + id;
+    }
+
+    String getAssigned(int id) {
+        return names == null ? null : names[id];
+    }
+
+    synchronized int find(String name) {
+        if (names != null) {
+            if (index == null) {
+                rebuildIndex();
+            }
+            int id = lookup(name);
+            if (id >= 0) {
+                return id;
+            }
+        }
+
+        int id = parseDefault(name);
+        return id >= 0 && getAssigned(id) == null ? id : -1;
+    }
+
+    String[] toArray() {
+        return names == null ? null : names.clone();
+    }
+
+    TaskNames copy() {
+        return new TaskNames(size, toArray());
+    }
+
+    private int lookup(String name) {
+        int mask = index.length - 1;
+        for (int slot = mix(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (names[entry - 1].equals(name)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void insert(int id) {
+        String name = names[id];
+        int mask = index.length - 1;
+        for (int slot = mix(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                index[slot] = id + 1;
+                if (++indexed * 2 > index.length) {
+                    rebuildIndex();
+                }
+                return;
+            }
+            if (names[entry - 1].equals(name)) {
+                index[slot] = id + 1;
+                return;
+            }
+        }
+    }
+
+    private void rebuildIndex() {
+        int count = 0;
+        for (String name : names) {
+            if (name != null) {
+                count++;
+            }
+        }
+
+        int capacity = 16;
+        while (capacity < count * 4L && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        index = new int[capacity];
+        indexed = 0;
+        for (int id = 0; id < size; id++) {
+            if (names[id] != null) {
+                insert(id);
+            }
+        }
+    }
+
+    private int parseDefault(String name) {
+        int length = name.length();
+        int prefix = DEFAULT_PREFIX.length();
+        if (length == prefix || length > prefix + 10 || !name.startsWith(DEFAULT_PREFIX)
+                || (name.charAt(prefix) == '0' && length > prefix + 1)) {
+            return -1;
+        }
+
+        long id = 0;
+        for (int i = prefix; i < length; i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id < size ? (int) id : -1;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
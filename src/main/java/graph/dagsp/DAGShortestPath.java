@@ -1,19 +1,62 @@
 package graph.dagsp;
 
+import graph.common.CSRGraph;
+import graph.common.Formatting;
 import graph.common.Graph;
 import graph.common.Metrics;
 import graph.topo.TopologicalSort;
+import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DAGShortestPath {
-    private final Graph graph;
+    private static final double SLACK_EPSILON = 1e-9;
+    private static final int LEVEL_SPLIT = 1_024;
+
+    private final CSRGraph graph;
     private final Metrics metrics;
+    private int[] topoOrder;
+    private int[] topoPosition;
+    private boolean topoComputed;
+    private PullIndex pullIndex;
 
     public DAGShortestPath(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics);
+    }
+
+    public DAGShortestPath(CSRGraph graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
     }
 
+    public DAGShortestPath(CSRGraph graph, int[] topoOrder, Metrics metrics) {
+        this(graph, metrics);
+        TopologicalSort.checkOrder(graph, topoOrder);
+        setTopologicalOrder(topoOrder);
+    }
+
+    public synchronized int[] getTopologicalOrder() {
+        if (!topoComputed) {
+            TopologicalSort topoSort = new TopologicalSort(graph, Metrics.noOp());
+            setTopologicalOrder(topoSort.kahnOrder());
+        }
+        return topoOrder;
+    }
+
+    private void setTopologicalOrder(int[] order) {
+        topoOrder = order;
+        topoComputed = true;
+        pullIndex = null;
+        if (order != null) {
+            topoPosition = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                topoPosition[order[i]] = i;
+            }
+        }
+    }
+
     public PathResult shortestPaths(int source) {
         return computePaths(source, true);
     }
@@ -22,33 +65,216 @@ public class DAGShortestPath {
         return computePaths(source, false);
     }
 
+    public PathResult shortestPaths(int source, int parallelism) {
+        return computePaths(source, true, parallelism);
+    }
+
+    public PathResult longestPaths(int source, int parallelism) {
+        return computePaths(source, false, parallelism);
+    }
+
     private PathResult computePaths(int source, boolean shortest) {
         int n = graph.getNumVertices();
 
-        TopologicalSort topoSort = new TopologicalSort(graph, new Metrics());
-        List<Integer> topoOrder = topoSort.kahnSort();
-
-        if (topoOrder == null) {
+        if (getTopologicalOrder() == null) {
             return null;
         }
 
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.PATHS);
+        metrics.addRelaxations(relax(source, shortest, dist, parent, 0));
+        timer.stop();
+
+        return new PathResult(dist, parent, source, shortest);
+    }
+
+    private PathResult computePaths(int source, boolean shortest, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        if (parallelism == 1 || getTopologicalOrder() == null) {
+            return computePaths(source, shortest);
+        }
+
+        int n = graph.getNumVertices();
+        PullIndex index = getPullIndex();
         double[] dist = new double[n];
         int[] parent = new int[n];
         Arrays.fill(dist, shortest ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
         Arrays.fill(parent, -1);
-        dist[source] = 0;
+        dist[source] = graph.getNodeWeight(source);
+        LongAdder relaxations = new LongAdder();
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.PATHS);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int level = index.levelOf[source] + 1; level < index.levelCount(); level++) {
+                LevelTask task = new LevelTask(index, index.levelOffsets[level], index.levelOffsets[level + 1],
+                        shortest, dist, parent, relaxations);
+                if (task.to - task.from > LEVEL_SPLIT) {
+                    pool.invoke(task);
+                } else {
+                    task.compute();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
 
-        metrics.startTimer();
+        metrics.addRelaxations(relaxations.sum());
+        timer.stop();
 
-        for (int u : topoOrder) {
-            if (dist[u] == (shortest ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY)) {
+        return new PathResult(dist, parent, source, shortest);
+    }
+
+    private synchronized PullIndex getPullIndex() {
+        if (pullIndex == null) {
+            pullIndex = new PullIndex(graph, topoOrder);
+        }
+        return pullIndex;
+    }
+
+    private class LevelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final PullIndex index;
+        private final int from;
+        private final int to;
+        private final boolean shortest;
+        private final double[] dist;
+        private final int[] parent;
+        private final LongAdder relaxations;
+
+        LevelTask(PullIndex index, int from, int to, boolean shortest,
+                  double[] dist, int[] parent, LongAdder relaxations) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.shortest = shortest;
+            this.dist = dist;
+            this.parent = parent;
+            this.relaxations = relaxations;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEVEL_SPLIT && getPool() != null) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LevelTask(index, from, mid, shortest, dist, parent, relaxations),
+                        new LevelTask(index, mid, to, shortest, dist, parent, relaxations));
+                return;
+            }
+
+            double[] weights = graph.getWeights();
+            double[] nodeWeights = graph.getNodeWeights();
+            int[] inOffsets = graph.getInOffsets();
+            int[] sources = graph.getSources();
+            int[] inEdges = graph.getInEdges();
+            double unreached = shortest ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+            long count = 0;
+
+            for (int i = from; i < to; i++) {
+                int v = index.levelVertices[i];
+                double best = unreached;
+                int bestParent = -1;
+
+                for (int k = inOffsets[v], end = inOffsets[v + 1]; k < end; k++) {
+                    int u = sources[k];
+                    double du = dist[u];
+                    if (du == unreached) {
+                        continue;
+                    }
+
+                    count++;
+                    double newDist = du + weights[inEdges[k]];
+                    if (nodeWeights != null) {
+                        newDist += nodeWeights[v];
+                    }
+                    boolean better = shortest ? newDist < best : newDist > best;
+                    if (better || (newDist == best && bestParent >= 0
+                            && topoPosition[u] < topoPosition[bestParent])) {
+                        best = newDist;
+                        bestParent = u;
+                    }
+                }
+
+                dist[v] = best;
+                parent[v] = bestParent;
+            }
+
+            relaxations.add(count);
+        }
+    }
+
+    private static class PullIndex {
+        private final int[] levelOf;
+        private final int[] levelOffsets;
+        private final int[] levelVertices;
+
+        PullIndex(CSRGraph graph, int[] topoOrder) {
+            int n = graph.getNumVertices();
+            int[] targets = graph.getTargets();
+
+            levelOf = new int[n];
+            int levels = n == 0 ? 0 : 1;
+            for (int u : topoOrder) {
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = targets[e];
+                    if (levelOf[v] <= levelOf[u]) {
+                        levelOf[v] = levelOf[u] + 1;
+                        levels = Math.max(levels, levelOf[v] + 1);
+                    }
+                }
+            }
+
+            levelOffsets = new int[levels + 1];
+            for (int v = 0; v < n; v++) {
+                levelOffsets[levelOf[v] + 1]++;
+            }
+            for (int l = 0; l < levels; l++) {
+                levelOffsets[l + 1] += levelOffsets[l];
+            }
+            levelVertices = new int[n];
+            int[] cursor = Arrays.copyOf(levelOffsets, levels);
+            for (int v = 0; v < n; v++) {
+                levelVertices[cursor[levelOf[v]]++] = v;
+            }
+        }
+
+        int levelCount() {
+            return levelOffsets.length - 1;
+        }
+    }
+
+    private int relax(int source, boolean shortest, double[] dist, int[] parent, int base) {
+        int n = graph.getNumVertices();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double unreached = shortest ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        int relaxations = 0;
+
+        Arrays.fill(dist, base, base + n, unreached);
+        Arrays.fill(parent, base, base + n, -1);
+        dist[base + source] = graph.getNodeWeight(source);
+        double[] nodeWeights = graph.getNodeWeights();
+
+        for (int i = topoPosition[source]; i < n; i++) {
+            int u = topoOrder[i];
+            double du = dist[base + u];
+            if (du == unreached) {
                 continue;
             }
 
-            for (Graph.Edge edge : graph.getNeighbors(u)) {
-                metrics.incrementRelaxations();
-                int v = edge.to;
-                double newDist = dist[u] + edge.weight;
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                relaxations++;
+                int v = base + targets[e];
+                double newDist = du + weights[e];
+                if (nodeWeights != null) {
+                    newDist += nodeWeights[targets[e]];
+                }
 
                 boolean shouldUpdate = shortest ?
                         (newDist < dist[v]) : (newDist > dist[v]);
@@ -60,39 +286,429 @@ public class DAGShortestPath {
             }
         }
 
-        metrics.stopTimer();
+        return relaxations;
+    }
+
+    public MultiSourceResult batchShortestPaths(int[] sources, int parallelism) {
+        return batchPaths(sources, true, parallelism);
+    }
 
-        return new PathResult(dist, parent, source, shortest);
+    public MultiSourceResult batchLongestPaths(int[] sources, int parallelism) {
+        return batchPaths(sources, false, parallelism);
+    }
+
+    private MultiSourceResult batchPaths(int[] sources, boolean shortest, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        if (getTopologicalOrder() == null) {
+            return null;
+        }
+
+        int n = graph.getNumVertices();
+        if ((long) sources.length * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many sources for one batch: " + sources.length);
+        }
+        double[] dist = new double[sources.length * n];
+        int[] parent = new int[sources.length * n];
+        LongAdder relaxations = new LongAdder();
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.PATHS);
+
+        if (parallelism == 1) {
+            for (int i = 0; i < sources.length; i++) {
+                relaxations.add(relax(sources[i], shortest, dist, parent, i * n));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new BatchTask(sources, 0, sources.length, shortest, dist, parent, relaxations));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        metrics.addRelaxations(relaxations.sum());
+        timer.stop();
+
+        return new MultiSourceResult(sources.clone(), n, dist, parent, shortest);
+    }
+
+    private class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sources;
+        private final int from;
+        private final int to;
+        private final boolean shortest;
+        private final double[] dist;
+        private final int[] parent;
+        private final LongAdder relaxations;
+
+        BatchTask(int[] sources, int from, int to, boolean shortest,
+                  double[] dist, int[] parent, LongAdder relaxations) {
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+            this.shortest = shortest;
+            this.dist = dist;
+            this.parent = parent;
+            this.relaxations = relaxations;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BatchTask(sources, from, mid, shortest, dist, parent, relaxations),
+                        new BatchTask(sources, mid, to, shortest, dist, parent, relaxations));
+                return;
+            }
+
+            int n = graph.getNumVertices();
+            for (int i = from; i < to; i++) {
+                relaxations.add(relax(sources[i], shortest, dist, parent, i * n));
+            }
+        }
     }
 
     public CriticalPath findCriticalPath() {
         int n = graph.getNumVertices();
-        double maxLength = Double.NEGATIVE_INFINITY;
-        int endVertex = -1;
-        int startVertex = -1;
 
-        for (int src = 0; src < n; src++) {
-            PathResult result = longestPaths(src);
-            if (result == null) continue;
+        int[] topoOrder = getTopologicalOrder();
+
+        if (topoOrder == null || n == 0) {
+            return null;
+        }
+
+        double[] nodeWeights = graph.getNodeWeights();
+        double[] dist = nodeWeights == null ? new double[n] : nodeWeights.clone();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.PATHS);
+
+        for (int u : topoOrder) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = targets[e];
+                double newDist = dist[u] + weights[e];
+                if (nodeWeights != null) {
+                    newDist += nodeWeights[v];
+                }
+
+                if (newDist > dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = u;
+                }
+            }
+        }
+
+        int endVertex = 0;
+        for (int v = 1; v < n; v++) {
+            if (dist[v] > dist[endVertex]) {
+                endVertex = v;
+            }
+        }
+
+        metrics.addRelaxations(graph.countEdges());
+        timer.stop();
+
+        List<Integer> path = new ArrayList<>();
+        for (int current = endVertex; current != -1; current = parent[current]) {
+            path.add(current);
+        }
+        Collections.reverse(path);
+
+        return new CriticalPath(path, dist[endVertex]);
+    }
+
+    public List<CriticalPath> findKLongestPaths(int k) {
+        return findKPaths(k, false);
+    }
+
+    public List<CriticalPath> findKShortestPaths(int k) {
+        return findKPaths(k, true);
+    }
+
+    private List<CriticalPath> findKPaths(int k, boolean shortest) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+
+        int n = graph.getNumVertices();
+        int[] topoOrder = getTopologicalOrder();
+        if (topoOrder == null) {
+            return null;
+        }
+
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] nodeWeights = graph.getNodeWeights();
+        double sign = shortest ? 1 : -1;
+        long relaxations = 0;
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.PATHS);
+
+        double[] remaining = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int u = topoOrder[i];
+            if (graph.outDegree(u) == 0) {
+                continue;
+            }
+            double best = Double.POSITIVE_INFINITY;
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = targets[e];
+                double step = nodeWeights == null ? weights[e] : weights[e] + nodeWeights[v];
+                best = Math.min(best, sign * step + remaining[v]);
+            }
+            remaining[u] = best;
+            relaxations += graph.outDegree(u);
+        }
+
+        PathHeap heap = new PathHeap();
+        int[] inDegree = new int[n];
+        for (int e = 0, m = graph.countEdges(); e < m; e++) {
+            inDegree[targets[e]]++;
+        }
+        for (int u : topoOrder) {
+            if (inDegree[u] == 0) {
+                double cost = nodeWeights == null ? 0 : sign * nodeWeights[u];
+                heap.push(cost + remaining[u], cost, u, -1);
+            }
+        }
+
+        int[] nodeVertex = new int[16];
+        int[] nodeParent = new int[16];
+        int nodes = 0;
+        int[] lastSeen = new int[n];
+        int[] bestEdge = new int[n];
+        Arrays.fill(lastSeen, -1);
+
+        List<CriticalPath> paths = new ArrayList<>(Math.min(k, 1_024));
+        while (paths.size() < k && heap.size > 0) {
+            heap.trim(k - paths.size());
+            double cost = heap.cost[0];
+            int u = heap.vertex[0];
+            int parentNode = heap.parent[0];
+            heap.pop();
+
+            if (nodes == nodeVertex.length) {
+                nodeVertex = Arrays.copyOf(nodeVertex, nodes * 2);
+                nodeParent = Arrays.copyOf(nodeParent, nodes * 2);
+            }
+            int node = nodes++;
+            nodeVertex[node] = u;
+            nodeParent[node] = parentNode;
+
+            if (graph.outDegree(u) == 0) {
+                List<Integer> path = new ArrayList<>();
+                for (int current = node; current != -1; current = nodeParent[current]) {
+                    path.add(nodeVertex[current]);
+                }
+                Collections.reverse(path);
+                paths.add(new CriticalPath(path, sign * cost));
+                continue;
+            }
+
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = targets[e];
+                if (lastSeen[v] != node) {
+                    lastSeen[v] = node;
+                    bestEdge[v] = e;
+                } else if (sign * weights[e] < sign * weights[bestEdge[v]]) {
+                    bestEdge[v] = e;
+                }
+            }
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = targets[e];
+                if (bestEdge[v] == e) {
+                    double step = nodeWeights == null ? weights[e] : weights[e] + nodeWeights[v];
+                    double nextCost = cost + sign * step;
+                    heap.push(nextCost + remaining[v], nextCost, v, node);
+                }
+            }
+            relaxations += graph.outDegree(u);
+        }
+
+        metrics.addRelaxations(relaxations);
+        timer.stop();
+
+        return paths;
+    }
+
+    private static class PathHeap {
+        private double[] key = new double[16];
+        private double[] cost = new double[16];
+        private int[] vertex = new int[16];
+        private int[] parent = new int[16];
+        private long[] sequence = new long[16];
+        private int size;
+        private long pushes;
+
+        void push(double entryKey, double entryCost, int entryVertex, int entryParent) {
+            if (size == key.length) {
+                grow(size * 2);
+            }
+            set(size, entryKey, entryCost, entryVertex, entryParent, pushes++);
+            siftUp(size++);
+        }
+
+        void pop() {
+            size--;
+            if (size > 0) {
+                move(size, 0);
+                siftDown(0);
+            }
+        }
+
+        void trim(int keep) {
+            if (size <= 2 * keep + 16) {
+                return;
+            }
+
+            PathHeap kept = new PathHeap();
+            kept.grow(keep);
+            while (kept.size < keep) {
+                kept.set(kept.size++, key[0], cost[0], vertex[0], parent[0], sequence[0]);
+                pop();
+            }
+            key = kept.key;
+            cost = kept.cost;
+            vertex = kept.vertex;
+            parent = kept.parent;
+            sequence = kept.sequence;
+            size = kept.size;
+        }
 
-            for (int dest = 0; dest < n; dest++) {
-                if (result.distances[dest] != Double.NEGATIVE_INFINITY &&
-                        result.distances[dest] > maxLength) {
-                    maxLength = result.distances[dest];
-                    endVertex = dest;
-                    startVertex = src;
+        private void grow(int capacity) {
+            key = Arrays.copyOf(key, capacity);
+            cost = Arrays.copyOf(cost, capacity);
+            vertex = Arrays.copyOf(vertex, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            sequence = Arrays.copyOf(sequence, capacity);
+        }
+
+        private void set(int i, double entryKey, double entryCost, int entryVertex, int entryParent, long seq) {
+            key[i] = entryKey;
+            cost[i] = entryCost;
+            vertex[i] = entryVertex;
+            parent[i] = entryParent;
+            sequence[i] = seq;
+        }
+
+        private void move(int from, int to) {
+            set(to, key[from], cost[from], vertex[from], parent[from], sequence[from]);
+        }
+
+        private boolean before(int a, int b) {
+            return key[a] < key[b] || (key[a] == key[b] && sequence[a] < sequence[b]);
+        }
+
+        private void swap(int a, int b) {
+            double k = key[a];
+            double c = cost[a];
+            int v = vertex[a];
+            int p = parent[a];
+            long s = sequence[a];
+            move(b, a);
+            set(b, k, c, v, p, s);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (!before(i, up)) {
+                    return;
                 }
+                swap(i, up);
+                i = up;
             }
         }
 
-        if (endVertex == -1) {
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int child = left + 1 < size && before(left + 1, left) ? left + 1 : left;
+                if (!before(child, i)) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+    }
+
+    public ScheduleResult analyzeSchedule() {
+        int n = graph.getNumVertices();
+
+        int[] topoOrder = getTopologicalOrder();
+
+        if (topoOrder == null) {
             return null;
         }
 
-        PathResult finalResult = longestPaths(startVertex);
-        List<Integer> path = reconstructPath(finalResult, endVertex);
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] earliest = new double[n];
+        double[] latest = new double[n];
+        double[] slack = new double[n];
+
+        double[] nodeWeights = graph.getNodeWeights();
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.PATHS);
+
+        for (int u : topoOrder) {
+            double finish = nodeWeights == null ? earliest[u] : earliest[u] + nodeWeights[u];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = targets[e];
+                double start = finish + weights[e];
+                if (start > earliest[v]) {
+                    earliest[v] = start;
+                }
+            }
+        }
+
+        double makespan = 0;
+        for (int v = 0; v < n; v++) {
+            makespan = Math.max(makespan, nodeWeights == null ? earliest[v] : earliest[v] + nodeWeights[v]);
+        }
 
-        return new CriticalPath(path, maxLength);
+        for (int u = 0; u < n; u++) {
+            latest[u] = nodeWeights == null ? makespan : makespan - nodeWeights[u];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int u = topoOrder[i];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                double start = latest[targets[e]] - weights[e];
+                if (nodeWeights != null) {
+                    start -= nodeWeights[u];
+                }
+                if (start < latest[u]) {
+                    latest[u] = start;
+                }
+            }
+        }
+
+        int criticalCount = 0;
+        int[] critical = new int[n];
+        for (int u : topoOrder) {
+            slack[u] = latest[u] - earliest[u];
+            if (Math.abs(slack[u]) <= SLACK_EPSILON) {
+                slack[u] = 0;
+                critical[criticalCount++] = u;
+            }
+        }
+
+        metrics.addRelaxations(2L * graph.countEdges());
+        timer.stop();
+
+        return new ScheduleResult(earliest, latest, slack, makespan, Arrays.copyOf(critical, criticalCount));
     }
 
     private List<Integer> reconstructPath(PathResult result, int dest) {
@@ -114,39 +730,88 @@ public class DAGShortestPath {
     }
 
     public void printShortestPaths(PathResult result) {
-        System.out.println("\nShortest Paths from " + graph.getTaskName(result.source));
+        printShortestPaths(result, System.out);
+    }
+
+    public void printShortestPaths(PathResult result, PrintStream out) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nShortest Paths from ").append(graph.getTaskName(result.source)).append('\n');
 
         for (int v = 0; v < graph.getNumVertices(); v++) {
             if (result.distances[v] == Double.POSITIVE_INFINITY) {
-                System.out.println(graph.getTaskName(v) + ": unreachable");
+                sb.append(graph.getTaskName(v)).append(": unreachable\n");
             } else {
                 List<Integer> path = reconstructPath(result, v);
-                System.out.printf("%s: %.2f (path: ",
-                        graph.getTaskName(v), result.distances[v]);
-                printPath(path);
-                System.out.println(")");
+                sb.append(graph.getTaskName(v)).append(": ");
+                Formatting.appendFixed(sb, result.distances[v]);
+                sb.append(" (path: ");
+                appendPath(sb, path);
+                sb.append(")\n");
             }
         }
+        out.print(sb);
     }
 
     public void printCriticalPath(CriticalPath cp) {
+        printCriticalPath(cp, System.out);
+    }
+
+    public void printCriticalPath(CriticalPath cp, PrintStream out) {
         if (cp == null) {
-            System.out.println("\nCritical Path");
-            System.out.println("No critical path found (graph may have cycle)");
+            out.print("\nCritical Path\nNo critical path found (graph may have cycle)\n");
             return;
         }
 
-        System.out.println("\nCritical Path (Longest)");
-        System.out.printf("Length: %.2f\n", cp.length);
-        System.out.print("Path: ");
-        printPath(cp.path);
-        System.out.println();
+        StringBuilder sb = new StringBuilder("\nCritical Path (Longest)\nLength: ");
+        Formatting.appendFixed(sb, cp.length);
+        sb.append("\nPath: ");
+        appendPath(sb, cp.path);
+        sb.append('\n');
+        out.print(sb);
+    }
+
+    public void printSchedule(ScheduleResult schedule) {
+        printSchedule(schedule, System.out);
     }
 
-    private void printPath(List<Integer> path) {
+    public void printSchedule(ScheduleResult schedule, PrintStream out) {
+        printSchedule(schedule, out, false);
+    }
+
+    public void printSchedule(ScheduleResult schedule, PrintStream out, boolean perVertex) {
+        if (schedule == null) {
+            out.print("\nSchedule Analysis\nNo schedule found (graph may have cycle)\n");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder("\nSchedule Analysis\nMakespan: ");
+        Formatting.appendFixed(sb, schedule.makespan);
+        sb.append('\n');
+        if (perVertex) {
+            for (int v = 0; v < graph.getNumVertices(); v++) {
+                sb.append(graph.getTaskName(v)).append(": ES=");
+                Formatting.appendFixed(sb, schedule.earliestStart[v]);
+                sb.append(" LS=");
+                Formatting.appendFixed(sb, schedule.latestStart[v]);
+                sb.append(" slack=");
+                Formatting.appendFixed(sb, schedule.slack[v]);
+                sb.append('\n');
+            }
+        }
+
+        sb.append("Zero-slack: ");
+        for (int i = 0; i < schedule.criticalVertices.length; i++) {
+            sb.append(graph.getTaskName(schedule.criticalVertices[i]));
+            if (i < schedule.criticalVertices.length - 1) sb.append(", ");
+        }
+        sb.append('\n');
+        out.print(sb);
+    }
+
+    private void appendPath(StringBuilder sb, List<Integer> path) {
         for (int i = 0; i < path.size(); i++) {
-            System.out.print(graph.getTaskName(path.get(i)));
-            if (i < path.size() - 1) System.out.print(" -> ");
+            sb.append(graph.getTaskName(path.get(i)));
+            if (i < path.size() - 1) sb.append(" -> ");
         }
     }
 
@@ -173,4 +838,51 @@ public class DAGShortestPath {
             this.length = length;
         }
     }
-}
\ No newline at end of file
+
+    public static class ScheduleResult {
+        public final double[] earliestStart;
+        public final double[] latestStart;
+        public final double[] slack;
+        public final double makespan;
+        public final int[] criticalVertices;
+
+        public ScheduleResult(double[] earliestStart, double[] latestStart, double[] slack,
+                              double makespan, int[] criticalVertices) {
+            this.earliestStart = earliestStart;
+            this.latestStart = latestStart;
+            this.slack = slack;
+            this.makespan = makespan;
+            this.criticalVertices = criticalVertices;
+        }
+    }
+
+    public static class MultiSourceResult {
+        public final int[] sources;
+        public final int numVertices;
+        public final double[] distances;
+        public final int[] parent;
+        public final boolean shortest;
+
+        public MultiSourceResult(int[] sources, int numVertices, double[] distances, int[] parent, boolean shortest) {
+            this.sources = sources;
+            this.numVertices = numVertices;
+            this.distances = distances;
+            this.parent = parent;
+            this.shortest = shortest;
+        }
+
+        public double distance(int query, int vertex) {
+            return distances[query * numVertices + vertex];
+        }
+
+        public int parent(int query, int vertex) {
+            return parent[query * numVertices + vertex];
+        }
+
+        public PathResult toPathResult(int query) {
+            int from = query * numVertices;
+            return new PathResult(Arrays.copyOfRange(distances, from, from + numVertices),
+                    Arrays.copyOfRange(parent, from, from + numVertices), sources[query], shortest);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package graph.export;
+
+import graph.dagsp.DAGShortestPath;
+import graph.scc.SCCResult;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ResultExporter {
+    public enum Format {
+        JSON(".json"), CSV(".csv");
+
+        public final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    private static final int FLUSH_CHARS = 1 << 16;
+
+    private final Format format;
+
+    public ResultExporter(Format format) {
+        this.format = format;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void exportReport(Path target, SCCResult sccs, int[] topoOrder, DAGShortestPath.PathResult paths,
+                             DAGShortestPath.CriticalPath criticalPath,
+                             DAGShortestPath.ScheduleResult schedule) throws IOException {
+        if (format == Format.JSON) {
+            try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                writeReport(writer, sccs, topoOrder, paths, criticalPath, schedule);
+            }
+            return;
+        }
+
+        Files.createDirectories(target);
+        if (sccs != null) {
+            try (Writer writer = Files.newBufferedWriter(target.resolve("sccs.csv"), StandardCharsets.UTF_8)) {
+                writeSCCs(sccs, writer);
+            }
+        }
+        if (topoOrder != null) {
+            try (Writer writer = Files.newBufferedWriter(target.resolve("topological_order.csv"), StandardCharsets.UTF_8)) {
+                writeTopologicalOrder(topoOrder, writer);
+            }
+        }
+        if (paths != null) {
+            try (Writer writer = Files.newBufferedWriter(target.resolve("paths.csv"), StandardCharsets.UTF_8)) {
+                writePaths(paths, writer);
+            }
+        }
+        if (criticalPath != null) {
+            try (Writer writer = Files.newBufferedWriter(target.resolve("critical_path.csv"), StandardCharsets.UTF_8)) {
+                writeCriticalPath(criticalPath, writer);
+            }
+        }
+        if (schedule != null) {
+            try (Writer writer = Files.newBufferedWriter(target.resolve("schedule.csv"), StandardCharsets.UTF_8)) {
+                writeSchedule(schedule, writer);
+            }
+        }
+    }
+
+    public void writeReport(Writer writer, SCCResult sccs, int[] topoOrder, DAGShortestPath.PathResult paths,
+                            DAGShortestPath.CriticalPath criticalPath,
+                            DAGShortestPath.ScheduleResult schedule) throws IOException {
+        if (format != Format.JSON) {
+            throw new IllegalStateException("A combined report needs JSON; export CSV sections to a directory");
+        }
+
+        Output out = new Output(writer);
+        out.append('{');
+        boolean first = true;
+        if (sccs != null) {
+            out.append("\"sccs\":");
+            jsonSCCs(sccs, out);
+            first = false;
+        }
+        if (topoOrder != null) {
+            out.append(first ? "" : ",").append("\n\"topologicalOrder\":");
+            jsonInts(topoOrder, topoOrder.length, out);
+            first = false;
+        }
+        if (paths != null) {
+            out.append(first ? "" : ",").append("\n\"paths\":");
+            jsonPaths(paths, out);
+            first = false;
+        }
+        if (criticalPath != null) {
+            out.append(first ? "" : ",").append("\n\"criticalPath\":");
+            jsonCriticalPath(criticalPath, out);
+            first = false;
+        }
+        if (schedule != null) {
+            out.append(first ? "" : ",").append("\n\"schedule\":");
+            jsonSchedule(schedule, out);
+        }
+        out.append("}\n");
+        out.flush();
+    }
+
+    public void writeSCCs(SCCResult sccs, Writer writer) throws IOException {
+        Output out = new Output(writer);
+        if (format == Format.JSON) {
+            jsonSCCs(sccs, out);
+            out.append('\n');
+        } else {
+            out.append("component,vertex\n");
+            for (int c = 0; c < sccs.componentCount(); c++) {
+                for (int i = 0, size = sccs.componentSize(c); i < size; i++) {
+                    out.append(c).append(',').append(sccs.member(c, i)).append('\n');
+                    out.maybeFlush();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    public void writeTopologicalOrder(int[] order, Writer writer) throws IOException {
+        Output out = new Output(writer);
+        if (format == Format.JSON) {
+            jsonInts(order, order.length, out);
+            out.append('\n');
+        } else {
+            out.append("position,vertex\n");
+            for (int i = 0; i < order.length; i++) {
+                out.append(i).append(',').append(order[i]).append('\n');
+                out.maybeFlush();
+            }
+        }
+        out.flush();
+    }
+
+    public void writePaths(DAGShortestPath.PathResult paths, Writer writer) throws IOException {
+        Output out = new Output(writer);
+        if (format == Format.JSON) {
+            jsonPaths(paths, out);
+            out.append('\n');
+        } else {
+            out.append("vertex,distance,parent\n");
+            for (int v = 0; v < paths.distances.length; v++) {
+                out.append(v).append(',');
+                csvDouble(paths.distances[v], out);
+                out.append(',').append(paths.parent[v]).append('\n');
+                out.maybeFlush();
+            }
+        }
+        out.flush();
+    }
+
+    public void writeCriticalPath(DAGShortestPath.CriticalPath criticalPath, Writer writer) throws IOException {
+        Output out = new Output(writer);
+        if (format == Format.JSON) {
+            jsonCriticalPath(criticalPath, out);
+            out.append('\n');
+        } else {
+            out.append("position,vertex,length\n");
+            List<Integer> path = criticalPath.path;
+            for (int i = 0; i < path.size(); i++) {
+                out.append(i).append(',').append(path.get(i)).append(',');
+                csvDouble(criticalPath.length, out);
+                out.append('\n');
+                out.maybeFlush();
+            }
+        }
+        out.flush();
+    }
+
+    public void writeSchedule(DAGShortestPath.ScheduleResult schedule, Writer writer) throws IOException {
+        Output out = new Output(writer);
+        if (format == Format.JSON) {
+            jsonSchedule(schedule, out);
+            out.append('\n');
+        } else {
+            out.append("vertex,earliest_start,latest_start,slack\n");
+            for (int v = 0; v < schedule.earliestStart.length; v++) {
+                out.append(v).append(',');
+                csvDouble(schedule.earliestStart[v], out);
+                out.append(',');
+                csvDouble(schedule.latestStart[v], out);
+                out.append(',');
+                csvDouble(schedule.slack[v], out);
+                out.append('\n');
+                out.maybeFlush();
+            }
+        }
+        out.flush();
+    }
+
+    private static void jsonSCCs(SCCResult sccs, Output out) throws IOException {
+        out.append('[');
+        for (int c = 0; c < sccs.componentCount(); c++) {
+            if (c > 0) out.append(",\n");
+            out.append('[');
+            for (int i = 0, size = sccs.componentSize(c); i < size; i++) {
+                if (i > 0) out.append(',');
+                out.append(sccs.member(c, i));
+            }
+            out.append(']');
+            out.maybeFlush();
+        }
+        out.append(']');
+    }
+
+    private static void jsonPaths(DAGShortestPath.PathResult paths, Output out) throws IOException {
+        out.append("{\"source\":").append(paths.source)
+                .append(",\"shortest\":").append(paths.shortest)
+                .append(",\n\"distances\":");
+        jsonDoubles(paths.distances, out);
+        out.append(",\n\"parents\":");
+        jsonInts(paths.parent, paths.parent.length, out);
+        out.append('}');
+    }
+
+    private static void jsonCriticalPath(DAGShortestPath.CriticalPath criticalPath, Output out) throws IOException {
+        out.append("{\"length\":");
+        jsonDouble(criticalPath.length, out);
+        out.append(",\"path\":[");
+        List<Integer> path = criticalPath.path;
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) out.append(',');
+            out.append(path.get(i));
+            out.maybeFlush();
+        }
+        out.append("]}");
+    }
+
+    private static void jsonSchedule(DAGShortestPath.ScheduleResult schedule, Output out) throws IOException {
+        out.append("{\"makespan\":");
+        jsonDouble(schedule.makespan, out);
+        out.append(",\n\"earliestStart\":");
+        jsonDoubles(schedule.earliestStart, out);
+        out.append(",\n\"latestStart\":");
+        jsonDoubles(schedule.latestStart, out);
+        out.append(",\n\"slack\":");
+        jsonDoubles(schedule.slack, out);
+        out.append(",\n\"criticalVertices\":");
+        jsonInts(schedule.criticalVertices, schedule.criticalVertices.length, out);
+        out.append('}');
+    }
+
+    private static void jsonInts(int[] values, int count, Output out) throws IOException {
+        out.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) out.append(',');
+            out.append(values[i]);
+            out.maybeFlush();
+        }
+        out.append(']');
+    }
+
+    private static void jsonDoubles(double[] values, Output out) throws IOException {
+        out.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.append(',');
+            jsonDouble(values[i], out);
+            out.maybeFlush();
+        }
+        out.append(']');
+    }
+
+    private static void jsonDouble(double value, Output out) {
+        if (Double.isFinite(value)) {
+            out.append(value);
+        } else {
+            out.append("null");
+        }
+    }
+
+    private static void csvDouble(double value, Output out) {
+        if (Double.isFinite(value)) {
+            out.append(value);
+        }
+    }
+
+    private static class Output {
+        private final Writer writer;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 256);
+
+        Output(Writer writer) {
+            this.writer = writer;
+        }
+
+        Output append(String s) {
+            buffer.append(s);
+            return this;
+        }
+
+        Output append(char c) {
+            buffer.append(c);
+            return this;
+        }
+
+        Output append(int i) {
+            buffer.append(i);
+            return this;
+        }
+
+        Output append(double d) {
+            buffer.append(d);
+            return this;
+        }
+
+        Output append(boolean b) {
+            buffer.append(b);
+            return this;
+        }
+
+        void maybeFlush() throws IOException {
+            if (buffer.length() >= FLUSH_CHARS) {
+                writer.append(buffer);
+                buffer.setLength(0);
+            }
+        }
+
+        void flush() throws IOException {
+            writer.append(buffer);
+            buffer.setLength(0);
+            writer.flush();
+        }
+    }
+}
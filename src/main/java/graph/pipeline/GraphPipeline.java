@@ -0,0 +1,191 @@
+package graph.pipeline;
+
+import graph.common.CSRGraph;
+import graph.common.DataLoader;
+import graph.common.GraphDataset;
+import graph.common.Metrics;
+import graph.dagsp.DAGShortestPath;
+import graph.export.ResultExporter;
+import graph.scc.CondensationBuilder;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.schedule.ListScheduler;
+import graph.topo.TopologicalSort;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Semaphore;
+
+public class GraphPipeline {
+    private final Metrics phases;
+    private final Semaphore cpuPermits;
+    private ResultExporter exporter;
+    private Path exportDirectory;
+    private int workers;
+    private boolean scheduleDetail;
+
+    public GraphPipeline(Metrics phases) {
+        this(phases, null);
+    }
+
+    public GraphPipeline(Metrics phases, Semaphore cpuPermits) {
+        this.phases = phases;
+        this.cpuPermits = cpuPermits;
+    }
+
+    public void setExport(ResultExporter exporter, Path exportDirectory) {
+        this.exporter = exporter;
+        this.exportDirectory = exportDirectory;
+    }
+
+    public void setWorkers(int workers) {
+        if (workers < 0) {
+            throw new IllegalArgumentException("workers must not be negative");
+        }
+        this.workers = workers;
+    }
+
+    public void setScheduleDetail(boolean scheduleDetail) {
+        this.scheduleDetail = scheduleDetail;
+    }
+
+    public static String datasetName(String filepath) {
+        String name = Paths.get(filepath).getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    public void process(String filepath, PrintStream out, PrintStream err) {
+        out.println("\nTESTING DATASET: " + datasetName(filepath));
+
+        try {
+            if (cpuPermits != null) {
+                cpuPermits.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Interrupted before processing dataset: " + filepath);
+            return;
+        }
+
+        try {
+            GraphDataset dataset;
+            try {
+                Metrics loadMetrics = new Metrics();
+                dataset = DataLoader.loadDataset(filepath, loadMetrics);
+                phases.merge(loadMetrics);
+            } catch (IOException e) {
+                err.println("Error loading dataset: " + filepath);
+                e.printStackTrace(err);
+                return;
+            }
+
+            analyze(filepath, dataset, out);
+        } catch (Exception e) {
+            err.println("Error processing dataset: " + filepath);
+            e.printStackTrace(err);
+        } finally {
+            if (cpuPermits != null) {
+                cpuPermits.release();
+            }
+        }
+    }
+
+    private void analyze(String filepath, GraphDataset dataset, PrintStream out) throws IOException {
+        CSRGraph graph = dataset.graph;
+        int source = dataset.source;
+
+        out.println("\nLoaded graph: " + filepath);
+        out.println("Vertices: " + graph.getNumVertices() + ", Edges: " + graph.countEdges());
+        out.println("Source vertex: " + source);
+
+        Metrics sccMetrics = new Metrics();
+        TarjanSCC tarjan = new TarjanSCC(graph, sccMetrics);
+        SCCResult sccs = tarjan.decompose();
+
+        tarjan.printSCCs(sccs.asLists(), out);
+        out.println("\nSCC Metrics: " + sccMetrics);
+        phases.merge(sccMetrics);
+
+        Metrics condenseMetrics = new Metrics();
+        CSRGraph condensation = new CondensationBuilder(graph, condenseMetrics)
+                .build(sccs.getComponentOf(), sccs.componentCount());
+        phases.merge(condenseMetrics);
+        out.println("\nCondensation Graph:");
+        out.println("Vertices (SCCs): " + condensation.getNumVertices() + ", Edges: " + condensation.countEdges());
+
+        Metrics topoMetrics = new Metrics();
+        TopologicalSort topoSort = new TopologicalSort(condensation, topoMetrics);
+        int[] topoOrder = topoSort.kahnOrder();
+
+        topoSort.printTopoOrder(TopologicalSort.toList(topoOrder), out);
+        out.println("\nTopological Sort Metrics: " + topoMetrics);
+        phases.merge(topoMetrics);
+
+        if (topoOrder == null) {
+            export(filepath, sccs, null, null, null, null);
+            return;
+        }
+
+        out.println("\nDerived Task Order:");
+        for (int sccIdx : topoOrder) {
+            int size = sccs.componentSize(sccIdx);
+            out.print("  " + condensation.getTaskName(sccIdx) + ": [");
+            for (int i = 0; i < size; i++) {
+                out.print(graph.getTaskName(sccs.member(sccIdx, i)));
+                if (i < size - 1) out.print(", ");
+            }
+            out.println("]");
+        }
+
+        Metrics spMetrics = new Metrics();
+        DAGShortestPath dagSP = new DAGShortestPath(condensation, topoOrder, spMetrics);
+
+        int condensedSource = source >= 0 && source < graph.getNumVertices()
+                ? sccs.componentOf(source) : 0;
+
+        DAGShortestPath.PathResult shortestResult = dagSP.shortestPaths(condensedSource);
+        dagSP.printShortestPaths(shortestResult, out);
+        out.println("\nShortest Path Metrics: " + spMetrics);
+        phases.merge(spMetrics);
+
+        spMetrics.reset();
+        DAGShortestPath.CriticalPath criticalPath = dagSP.findCriticalPath();
+        dagSP.printCriticalPath(criticalPath, out);
+        out.println("\nLongest Path Metrics: " + spMetrics);
+        phases.merge(spMetrics);
+
+        spMetrics.reset();
+        DAGShortestPath.ScheduleResult schedule = dagSP.analyzeSchedule();
+        dagSP.printSchedule(schedule, out, scheduleDetail);
+        out.println("\nSchedule Metrics: " + spMetrics);
+        phases.merge(spMetrics);
+
+        if (workers > 0) {
+            Metrics listMetrics = new Metrics();
+            ListScheduler scheduler = new ListScheduler(condensation, topoOrder, listMetrics);
+            scheduler.printSchedule(scheduler.schedule(workers), out);
+            out.println("\nList Schedule Metrics: " + listMetrics);
+            phases.merge(listMetrics);
+        }
+
+        export(filepath, sccs, topoOrder, shortestResult, criticalPath, schedule);
+    }
+
+    private void export(String filepath, SCCResult sccs, int[] topoOrder, DAGShortestPath.PathResult paths,
+                        DAGShortestPath.CriticalPath criticalPath,
+                        DAGShortestPath.ScheduleResult schedule) throws IOException {
+        if (exporter == null) {
+            return;
+        }
+
+        String name = datasetName(filepath);
+        Path target = exporter.getFormat() == ResultExporter.Format.JSON
+                ? exportDirectory.resolve(name + ResultExporter.Format.JSON.extension)
+                : exportDirectory.resolve(name);
+        Files.createDirectories(exportDirectory);
+        exporter.exportReport(target, sccs, topoOrder, paths, criticalPath, schedule);
+    }
+}
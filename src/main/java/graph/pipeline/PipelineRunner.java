@@ -0,0 +1,122 @@
+package graph.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PipelineRunner implements AutoCloseable {
+    private final GraphPipeline pipeline;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int maxInFlight;
+
+    public PipelineRunner(GraphPipeline pipeline) {
+        this(pipeline, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PipelineRunner(GraphPipeline pipeline, int maxInFlight) {
+        this(pipeline, newDefaultExecutor(), true, maxInFlight);
+    }
+
+    public PipelineRunner(GraphPipeline pipeline, ExecutorService executor) {
+        this(pipeline, executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PipelineRunner(GraphPipeline pipeline, ExecutorService executor, int maxInFlight) {
+        this(pipeline, executor, false, maxInFlight);
+    }
+
+    private PipelineRunner(GraphPipeline pipeline, ExecutorService executor, boolean ownsExecutor, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.pipeline = pipeline;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static ExecutorService newDefaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            int threads = Math.max(2, 2 * Runtime.getRuntime().availableProcessors());
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "graph-pipeline");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void run(List<String> filepaths, PrintStream out, PrintStream err) {
+        int total = filepaths.size();
+        ArrayDeque<Future<Output>> inFlight = new ArrayDeque<>(Math.min(total, maxInFlight));
+        int submitted = 0;
+        while (submitted < total && submitted < maxInFlight) {
+            inFlight.add(submit(filepaths.get(submitted++)));
+        }
+
+        for (int i = 0; i < total; i++) {
+            Output output = null;
+            try {
+                output = inFlight.poll().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                err.println("Interrupted while waiting for " + filepaths.get(i));
+                return;
+            } catch (ExecutionException e) {
+                err.println("Error processing dataset: " + filepaths.get(i));
+                e.getCause().printStackTrace(err);
+            }
+
+            if (submitted < total) {
+                inFlight.add(submit(filepaths.get(submitted++)));
+            }
+            if (output != null) {
+                out.write(output.out, 0, output.out.length);
+                out.flush();
+                if (output.err.length > 0) {
+                    err.write(output.err, 0, output.err.length);
+                    err.flush();
+                }
+            }
+        }
+    }
+
+    private Future<Output> submit(String filepath) {
+        return executor.submit(() -> process(filepath));
+    }
+
+    private Output process(String filepath) {
+        ByteArrayOutputStream outBytes = new ByteArrayOutputStream(8192);
+        ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(outBytes, false, StandardCharsets.UTF_8);
+             PrintStream err = new PrintStream(errBytes, false, StandardCharsets.UTF_8)) {
+            pipeline.process(filepath, out, err);
+        }
+        return new Output(outBytes.toByteArray(), errBytes.toByteArray());
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static class Output {
+        private final byte[] out;
+        private final byte[] err;
+
+        Output(byte[] out, byte[] err) {
+            this.out = out;
+            this.err = err;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package graph.reach;
+
+import graph.common.CSRGraph;
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.scc.CondensationBuilder;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import java.util.*;
+
+public class ReachabilityIndex {
+    public static final long DEFAULT_CLOSURE_BUDGET_BYTES = 16L << 20;
+    public static final int DEFAULT_INTERVAL_LABELS = 3;
+
+    public enum Mode {
+        CLOSURE, INTERVALS
+    }
+
+    private final CSRGraph condensation;
+    private final SCCResult sccs;
+    private final int[] topoPosition;
+    private final Mode mode;
+
+    private final int words;
+    private final long[] closure;
+
+    private final int labels;
+    private final int[] low;
+    private final int[] post;
+    private final ThreadLocal<SearchState> searchState;
+
+    public ReachabilityIndex(CSRGraph condensation, SCCResult sccs, Metrics metrics) {
+        this(condensation, sccs, metrics, DEFAULT_CLOSURE_BUDGET_BYTES, DEFAULT_INTERVAL_LABELS);
+    }
+
+    public ReachabilityIndex(CSRGraph condensation, SCCResult sccs, Metrics metrics,
+                             long closureBudgetBytes, int intervalLabels) {
+        int k = condensation.getNumVertices();
+        if (sccs.componentCount() != k) {
+            throw new IllegalArgumentException("condensation must have one vertex per component");
+        }
+        if (intervalLabels < 1) {
+            throw new IllegalArgumentException("intervalLabels must be at least 1");
+        }
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.REACH);
+
+        this.condensation = condensation;
+        this.sccs = sccs;
+        int[] order = topologicalOrder(condensation);
+        this.topoPosition = new int[k];
+        for (int i = 0; i < k; i++) {
+            topoPosition[order[i]] = i;
+        }
+
+        int rowWords = (k + 63) >>> 6;
+        if ((long) k * rowWords * Long.BYTES <= closureBudgetBytes && (long) k * rowWords <= Integer.MAX_VALUE) {
+            this.mode = Mode.CLOSURE;
+            this.words = rowWords;
+            this.closure = buildClosure(order);
+            this.labels = 0;
+            this.low = null;
+            this.post = null;
+            this.searchState = null;
+            metrics.addEdgeTraversals((long) condensation.countEdges() * 2);
+        } else {
+            this.mode = Mode.INTERVALS;
+            this.words = 0;
+            this.closure = null;
+            this.labels = intervalLabels;
+            this.low = new int[k * intervalLabels];
+            this.post = new int[k * intervalLabels];
+            this.searchState = ThreadLocal.withInitial(() -> new SearchState(k));
+            buildIntervals(order);
+            metrics.addEdgeTraversals((long) condensation.countEdges() * (intervalLabels + 1));
+            metrics.addDfsVisits((long) k * intervalLabels);
+        }
+
+        timer.stop();
+    }
+
+    public static ReachabilityIndex build(Graph graph, Metrics metrics) {
+        return build(graph.toCSR(), metrics);
+    }
+
+    public static ReachabilityIndex build(CSRGraph graph, Metrics metrics) {
+        SCCResult sccs = new TarjanSCC(graph, metrics).decompose();
+        CSRGraph condensation = new CondensationBuilder(graph, metrics)
+                .build(sccs.getComponentOf(), sccs.componentCount());
+        return new ReachabilityIndex(condensation, sccs, metrics);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public CSRGraph getCondensation() {
+        return condensation;
+    }
+
+    public SCCResult getSCCs() {
+        return sccs;
+    }
+
+    public long memoryBytes() {
+        if (mode == Mode.CLOSURE) {
+            return (long) closure.length * Long.BYTES + (long) topoPosition.length * Integer.BYTES;
+        }
+        return ((long) low.length + post.length + topoPosition.length) * Integer.BYTES;
+    }
+
+    public boolean reaches(int from, int to) {
+        return componentReaches(sccs.componentOf(from), sccs.componentOf(to));
+    }
+
+    public boolean dependsOn(int task, int dependency) {
+        return reaches(dependency, task);
+    }
+
+    public boolean componentReaches(int from, int to) {
+        if (from == to) {
+            return true;
+        }
+        if (topoPosition[from] > topoPosition[to]) {
+            return false;
+        }
+        if (mode == Mode.CLOSURE) {
+            return (closure[from * words + (to >>> 6)] & (1L << to)) != 0;
+        }
+        if (!contains(from, to)) {
+            return false;
+        }
+        return search(from, to);
+    }
+
+    private long[] buildClosure(int[] order) {
+        int k = order.length;
+        int[] targets = condensation.getTargets();
+        long[] rows = new long[k * words];
+
+        for (int i = k - 1; i >= 0; i--) {
+            int c = order[i];
+            int row = c * words;
+            for (int e = condensation.edgeStart(c), end = condensation.edgeEnd(c); e < end; e++) {
+                int d = targets[e];
+                rows[row + (d >>> 6)] |= 1L << d;
+                int other = d * words;
+                for (int w = 0; w < words; w++) {
+                    rows[row + w] |= rows[other + w];
+                }
+            }
+        }
+
+        return rows;
+    }
+
+    private void buildIntervals(int[] order) {
+        int k = order.length;
+        int[] targets = condensation.getTargets();
+        int[] stack = new int[k];
+        int[] cursor = new int[k];
+        int[] rotation = new int[k];
+        boolean[] visited = new boolean[k];
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+
+        for (int label = 0; label < labels; label++) {
+            Arrays.fill(visited, false);
+            for (int c = 0; c < k; c++) {
+                int degree = condensation.outDegree(c);
+                rotation[c] = label == 0 || degree < 2 ? 0 : random.nextInt(degree);
+            }
+
+            int rank = 0;
+            for (int i = 0; i < k; i++) {
+                int root = label % 2 == 0 ? order[i] : order[k - 1 - i];
+                if (visited[root]) {
+                    continue;
+                }
+
+                int depth = 0;
+                visited[root] = true;
+                cursor[root] = 0;
+                stack[depth++] = root;
+
+                while (depth > 0) {
+                    int at = stack[depth - 1];
+                    int degree = condensation.outDegree(at);
+
+                    if (cursor[at] < degree) {
+                        int offset = (cursor[at]++ + rotation[at]) % degree;
+                        int to = targets[condensation.edgeStart(at) + offset];
+                        if (!visited[to]) {
+                            visited[to] = true;
+                            cursor[to] = 0;
+                            stack[depth++] = to;
+                        }
+                        continue;
+                    }
+
+                    depth--;
+                    int slot = at * labels + label;
+                    int min = rank;
+                    for (int e = condensation.edgeStart(at), end = condensation.edgeEnd(at); e < end; e++) {
+                        min = Math.min(min, low[targets[e] * labels + label]);
+                    }
+                    low[slot] = min;
+                    post[slot] = rank++;
+                }
+            }
+        }
+    }
+
+    private boolean contains(int outer, int inner) {
+        int a = outer * labels;
+        int b = inner * labels;
+        for (int label = 0; label < labels; label++) {
+            if (low[b + label] < low[a + label] || post[b + label] > post[a + label]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean search(int from, int to) {
+        SearchState state = searchState.get();
+        int stamp = state.nextStamp();
+        int[] targets = condensation.getTargets();
+        int[] visited = state.visited;
+        int[] stack = state.stack;
+        int limit = topoPosition[to];
+        int size = 0;
+
+        visited[from] = stamp;
+        stack[size++] = from;
+
+        while (size > 0) {
+            int at = stack[--size];
+            for (int e = condensation.edgeStart(at), end = condensation.edgeEnd(at); e < end; e++) {
+                int w = targets[e];
+                if (w == to) {
+                    return true;
+                }
+                if (visited[w] == stamp) {
+                    continue;
+                }
+                visited[w] = stamp;
+                if (topoPosition[w] < limit && contains(w, to)) {
+                    stack[size++] = w;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int[] topologicalOrder(CSRGraph graph) {
+        int k = graph.getNumVertices();
+        int[] targets = graph.getTargets();
+        int[] inDegree = new int[k];
+        for (int e = 0, m = graph.countEdges(); e < m; e++) {
+            inDegree[targets[e]]++;
+        }
+
+        int[] order = new int[k];
+        int tail = 0;
+        for (int c = 0; c < k; c++) {
+            if (inDegree[c] == 0) {
+                order[tail++] = c;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int c = order[head];
+            for (int e = graph.edgeStart(c), end = graph.edgeEnd(c); e < end; e++) {
+                if (--inDegree[targets[e]] == 0) {
+                    order[tail++] = targets[e];
+                }
+            }
+        }
+
+        if (tail != k) {
+            throw new IllegalArgumentException("condensation must be acyclic");
+        }
+        return order;
+    }
+
+    private static class SearchState {
+        private final int[] visited;
+        private final int[] stack;
+        private int stamp;
+
+        SearchState(int size) {
+            this.visited = new int[size];
+            this.stack = new int[size];
+        }
+
+        int nextStamp() {
+            if (++stamp == 0) {
+                Arrays.fill(visited, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package graph.scc;
+
+import graph.common.CSRGraph;
+import graph.common.Metrics;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class CondensationBuilder {
+    private final CSRGraph graph;
+    private final Metrics metrics;
+
+    public CondensationBuilder(CSRGraph graph, Metrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+    }
+
+    public CSRGraph build(int[] componentOf, int numComponents) {
+        return build(componentOf, numComponents, WeightAggregation.FIRST, 1);
+    }
+
+    public CSRGraph build(int[] componentOf, int numComponents, WeightAggregation aggregation, int parallelism) {
+        if (componentOf.length != graph.getNumVertices()) {
+            throw new IllegalArgumentException("componentOf must cover every vertex");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.CONDENSE);
+
+        int n = graph.getNumVertices();
+        int[] componentStart = new int[numComponents + 1];
+        long[] edgeVolume = new long[numComponents + 1];
+        for (int v = 0; v < n; v++) {
+            componentStart[componentOf[v] + 1]++;
+            edgeVolume[componentOf[v] + 1] += graph.outDegree(v) + 1;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            componentStart[c + 1] += componentStart[c];
+            edgeVolume[c + 1] += edgeVolume[c];
+        }
+
+        int[] next = Arrays.copyOf(componentStart, numComponents);
+        int[] componentMembers = new int[n];
+        for (int v = 0; v < n; v++) {
+            componentMembers[next[componentOf[v]]++] = v;
+        }
+
+        int chunks = Math.max(1, Math.min(parallelism, numComponents));
+        int[] chunkStart = new int[chunks + 1];
+        for (int i = 1, c = 0; i < chunks; i++) {
+            long goal = edgeVolume[numComponents] * i / chunks;
+            while (c < numComponents && edgeVolume[c] < goal) {
+                c++;
+            }
+            chunkStart[i] = Math.max(c, chunkStart[i - 1]);
+        }
+        chunkStart[chunks] = numComponents;
+
+        Chunk[] results = new Chunk[chunks];
+        for (int i = 0; i < chunks; i++) {
+            results[i] = new Chunk(componentOf, numComponents, componentStart, componentMembers,
+                    chunkStart[i], chunkStart[i + 1], aggregation);
+        }
+
+        if (chunks == 1) {
+            results[0].call();
+        } else {
+            runParallel(results, parallelism);
+        }
+
+        int[] offsets = new int[numComponents + 1];
+        for (Chunk chunk : results) {
+            for (int c = chunk.from; c < chunk.to; c++) {
+                offsets[c + 1] = offsets[c] + chunk.degree[c - chunk.from];
+            }
+        }
+
+        int m = offsets[numComponents];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (Chunk chunk : results) {
+            System.arraycopy(chunk.targets, 0, targets, offsets[chunk.from], chunk.size);
+            System.arraycopy(chunk.weights, 0, weights, offsets[chunk.from], chunk.size);
+        }
+
+        String[] names = new String[numComponents];
+        for (int c = 0; c < numComponents; c++) {
+            names[c] = "SCC" + c + "_size" + (componentStart[c + 1] - componentStart[c]);
+        }
+
+        double[] durations = null;
+        if (graph.hasNodeWeights()) {
+            double[] nodeWeights = graph.getNodeWeights();
+            durations = new double[numComponents];
+            for (int v = 0; v < n; v++) {
+                durations[componentOf[v]] += nodeWeights[v];
+            }
+        }
+
+        timer.stop();
+
+        return new CSRGraph(numComponents, offsets, targets, weights, names, durations);
+    }
+
+    private static void runParallel(Chunk[] chunks, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Void> future : pool.invokeAll(Arrays.asList(chunks))) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Condensation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Condensation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private class Chunk implements Callable<Void> {
+        private final int[] componentOf;
+        private final int numComponents;
+        private final int[] componentStart;
+        private final int[] componentMembers;
+        private final int from;
+        private final int to;
+        private final WeightAggregation aggregation;
+        private final int[] degree;
+        private int[] targets = new int[16];
+        private double[] weights = new double[16];
+        private int size;
+
+        Chunk(int[] componentOf, int numComponents, int[] componentStart, int[] componentMembers,
+              int from, int to, WeightAggregation aggregation) {
+            this.componentOf = componentOf;
+            this.numComponents = numComponents;
+            this.componentStart = componentStart;
+            this.componentMembers = componentMembers;
+            this.from = from;
+            this.to = to;
+            this.aggregation = aggregation;
+            this.degree = new int[to - from];
+        }
+
+        @Override
+        public Void call() {
+            int[] graphTargets = graph.getTargets();
+            double[] graphWeights = graph.getWeights();
+            int[] lastSeen = new int[numComponents];
+            int[] slot = new int[numComponents];
+            Arrays.fill(lastSeen, -1);
+
+            for (int c = from; c < to; c++) {
+                int before = size;
+
+                for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                    int v = componentMembers[i];
+                    for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                        int d = componentOf[graphTargets[e]];
+                        if (d == c) {
+                            continue;
+                        }
+
+                        double w = graphWeights[e];
+                        if (lastSeen[d] != c) {
+                            lastSeen[d] = c;
+                            slot[d] = size;
+                            append(d, w);
+                        } else {
+                            weights[slot[d]] = aggregation.combine(weights[slot[d]], w);
+                        }
+                    }
+                }
+
+                degree[c - from] = size - before;
+            }
+            return null;
+        }
+
+        private void append(int target, double weight) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    public enum WeightAggregation {
+        FIRST {
+            @Override
+            double combine(double current, double next) {
+                return current;
+            }
+        },
+        MIN {
+            @Override
+            double combine(double current, double next) {
+                return Math.min(current, next);
+            }
+        },
+        MAX {
+            @Override
+            double combine(double current, double next) {
+                return Math.max(current, next);
+            }
+        },
+        SUM {
+            @Override
+            double combine(double current, double next) {
+                return current + next;
+            }
+        };
+
+        abstract double combine(double current, double next);
+    }
+}
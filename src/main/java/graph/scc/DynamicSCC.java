@@ -0,0 +1,721 @@
+package graph.scc;
+
+import graph.common.CSRGraph;
+import graph.common.Graph;
+import graph.common.Metrics;
+import java.util.*;
+
+public class DynamicSCC {
+    private static final int[] EMPTY = new int[0];
+    private static final double[] EMPTY_WEIGHTS = new double[0];
+
+    private final int numVertices;
+    private final Metrics metrics;
+    private final List<Listener> listeners = new ArrayList<>();
+
+    private final int[][] outTargets;
+    private final double[][] outWeights;
+    private final int[] outSize;
+    private final int[][] inSources;
+    private final double[][] inWeights;
+    private final int[] inSize;
+
+    private final int[] componentOf;
+    private final int[][] members;
+    private final int[] memberCount;
+    private final int[] freeIds;
+    private int freeCount;
+    private int componentCount;
+
+    private final CondensedEdges[] condensedOut;
+    private final CondensedEdges[] condensedIn;
+
+    private final int[] componentMark;
+    private int componentStamp;
+    private final int[] index;
+    private final int[] low;
+    private final int[] edgeCursor;
+    private final boolean[] onStack;
+
+    public DynamicSCC(int numVertices, Metrics metrics) {
+        this.numVertices = numVertices;
+        this.metrics = metrics;
+        this.outTargets = new int[numVertices][];
+        this.outWeights = new double[numVertices][];
+        this.outSize = new int[numVertices];
+        this.inSources = new int[numVertices][];
+        this.inWeights = new double[numVertices][];
+        this.inSize = new int[numVertices];
+        this.componentOf = new int[numVertices];
+        this.members = new int[numVertices][];
+        this.memberCount = new int[numVertices];
+        this.freeIds = new int[numVertices];
+        this.condensedOut = new CondensedEdges[numVertices];
+        this.condensedIn = new CondensedEdges[numVertices];
+        this.componentMark = new int[numVertices];
+        this.index = new int[numVertices];
+        this.low = new int[numVertices];
+        this.edgeCursor = new int[numVertices];
+        this.onStack = new boolean[numVertices];
+
+        Arrays.fill(outTargets, EMPTY);
+        Arrays.fill(outWeights, EMPTY_WEIGHTS);
+        Arrays.fill(inSources, EMPTY);
+        Arrays.fill(inWeights, EMPTY_WEIGHTS);
+
+        for (int v = 0; v < numVertices; v++) {
+            componentOf[v] = v;
+            members[v] = new int[]{v};
+            memberCount[v] = 1;
+            condensedOut[v] = new CondensedEdges();
+            condensedIn[v] = new CondensedEdges();
+        }
+        componentCount = numVertices;
+    }
+
+    public DynamicSCC(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics);
+    }
+
+    public DynamicSCC(CSRGraph graph, Metrics metrics) {
+        this(graph.getNumVertices(), metrics);
+
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        for (int u = 0; u < numVertices; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                link(u, targets[e], weights[e]);
+            }
+        }
+
+        SCCResult sccs = new TarjanSCC(graph, Metrics.noOp()).decompose();
+        int[] offsets = sccs.getComponentOffsets();
+        componentCount = sccs.componentCount();
+        for (int c = 0; c < componentCount; c++) {
+            members[c] = Arrays.copyOfRange(sccs.getMembers(), offsets[c], offsets[c + 1]);
+            memberCount[c] = members[c].length;
+            for (int v : members[c]) {
+                componentOf[v] = c;
+            }
+        }
+        for (int c = numVertices - 1; c >= componentCount; c--) {
+            members[c] = EMPTY;
+            memberCount[c] = 0;
+            freeIds[freeCount++] = c;
+        }
+
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = 0; i < outSize[u]; i++) {
+                int cu = componentOf[u];
+                int cv = componentOf[outTargets[u][i]];
+                if (cu != cv) {
+                    addCondensedEdge(cu, cv, outWeights[u][i]);
+                }
+            }
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public void addEdge(int from, int to, double weight) {
+        checkVertex(from);
+        checkVertex(to);
+        link(from, to, weight);
+
+        int cu = componentOf[from];
+        int cv = componentOf[to];
+        if (cu == cv) {
+            return;
+        }
+
+        CondensedEdges out = condensedOut[cu];
+        int slot = out.find(cv);
+        if (slot >= 0) {
+            out.counts[slot]++;
+            out.weights[slot] = Math.min(out.weights[slot], weight);
+            return;
+        }
+
+        if (condensedIn[cu].size == 0 || condensedOut[cv].size == 0) {
+            addCondensedEdge(cu, cv, weight);
+            return;
+        }
+
+        int[] cycle = componentsOnPaths(cv, cu);
+        if (cycle.length == 0) {
+            addCondensedEdge(cu, cv, weight);
+            return;
+        }
+
+        merge(cycle);
+    }
+
+    public void addEdge(int from, int to) {
+        addEdge(from, to, 1.0);
+    }
+
+    public boolean removeEdge(int from, int to) {
+        checkVertex(from);
+        checkVertex(to);
+
+        int i = indexOf(outTargets[from], outSize[from], to);
+        if (i < 0) {
+            return false;
+        }
+        double weight = outWeights[from][i];
+        unlink(from, i, to);
+
+        int cu = componentOf[from];
+        int cv = componentOf[to];
+        if (cu != cv) {
+            CondensedEdges out = condensedOut[cu];
+            int slot = out.find(cv);
+            if (--out.counts[slot] == 0) {
+                out.removeAt(slot);
+                condensedIn[cv].remove(cu);
+            } else if (weight == out.weights[slot]) {
+                out.weights[slot] = minWeightBetween(cu, cv);
+            }
+            return true;
+        }
+
+        split(cu);
+        return true;
+    }
+
+    public int getComponentId(int vertex) {
+        return componentOf[vertex];
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return componentOf[u] == componentOf[v];
+    }
+
+    public int[] getComponentMembers(int component) {
+        return Arrays.copyOf(members[component], memberCount[component]);
+    }
+
+    public List<List<Integer>> getComponents() {
+        return snapshot().asLists();
+    }
+
+    public SCCResult snapshot() {
+        int[] dense = denseIds();
+        int[] denseComponentOf = new int[numVertices];
+        int[] componentOffsets = new int[componentCount + 1];
+        int[] flatMembers = new int[numVertices];
+        int next = 0;
+
+        for (int c = 0; c < numVertices; c++) {
+            if (dense[c] < 0) {
+                continue;
+            }
+            for (int i = 0; i < memberCount[c]; i++) {
+                int v = members[c][i];
+                denseComponentOf[v] = dense[c];
+                flatMembers[next++] = v;
+            }
+            componentOffsets[dense[c] + 1] = next;
+        }
+
+        return new SCCResult(denseComponentOf, componentOffsets, flatMembers);
+    }
+
+    private int[] denseIds() {
+        int[] dense = new int[numVertices];
+        int next = 0;
+        for (int c = 0; c < numVertices; c++) {
+            dense[c] = memberCount[c] == 0 ? -1 : next++;
+        }
+        return dense;
+    }
+
+    public Graph buildCondensation() {
+        int[] dense = denseIds();
+
+        Graph condensation = new Graph(componentCount);
+        for (int c = 0; c < numVertices; c++) {
+            if (dense[c] < 0) {
+                continue;
+            }
+            condensation.setTaskName(dense[c], "SCC" + dense[c] + "_size" + memberCount[c]);
+            CondensedEdges out = condensedOut[c];
+            for (int i = 0; i < out.size; i++) {
+                condensation.addEdge(dense[c], dense[out.keys[i]], out.weights[i]);
+            }
+        }
+        return condensation;
+    }
+
+    private int[] componentsOnPaths(int from, int to) {
+        componentStamp++;
+        int forwardStamp = componentStamp;
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        boolean reached = false;
+
+        componentMark[from] = forwardStamp;
+        queue[tail++] = from;
+        while (head < tail) {
+            int c = queue[head++];
+            if (c == to) {
+                reached = true;
+            }
+            CondensedEdges out = condensedOut[c];
+            for (int i = 0; i < out.size; i++) {
+                int d = out.keys[i];
+                metrics.incrementEdgeTraversals();
+                if (componentMark[d] != forwardStamp) {
+                    componentMark[d] = forwardStamp;
+                    queue = push(queue, tail++, d);
+                }
+            }
+        }
+
+        if (!reached) {
+            return EMPTY;
+        }
+
+        componentStamp++;
+        int backwardStamp = componentStamp;
+        head = 0;
+        tail = 0;
+        componentMark[to] = backwardStamp;
+        queue[tail++] = to;
+        while (head < tail) {
+            int c = queue[head++];
+            CondensedEdges in = condensedIn[c];
+            for (int i = 0; i < in.size; i++) {
+                int d = in.keys[i];
+                metrics.incrementEdgeTraversals();
+                if (componentMark[d] == forwardStamp) {
+                    componentMark[d] = backwardStamp;
+                    queue = push(queue, tail++, d);
+                }
+            }
+        }
+
+        return Arrays.copyOf(queue, tail);
+    }
+
+    private void merge(int[] components) {
+        int target = components[0];
+        int total = 0;
+        for (int c : components) {
+            total += memberCount[c];
+            if (memberCount[c] > memberCount[target]) {
+                target = c;
+            }
+        }
+
+        detachCondensedEdges(components);
+
+        int[] merged = Arrays.copyOf(members[target], total);
+        int size = memberCount[target];
+        for (int c : components) {
+            if (c == target) {
+                continue;
+            }
+            for (int i = 0; i < memberCount[c]; i++) {
+                int v = members[c][i];
+                componentOf[v] = target;
+                merged[size++] = v;
+            }
+            members[c] = EMPTY;
+            memberCount[c] = 0;
+            freeIds[freeCount++] = c;
+            componentCount--;
+        }
+        members[target] = merged;
+        memberCount[target] = size;
+
+        attachCondensedEdges(new int[]{target});
+
+        int[] before = components.clone();
+        Arrays.sort(before);
+        fire(new ChangeEvent(ChangeType.MERGE, before, new int[]{target}));
+    }
+
+    private void split(int component) {
+        List<int[]> pieces = localTarjan(component);
+        if (pieces.size() == 1) {
+            return;
+        }
+
+        int largest = 0;
+        for (int i = 1; i < pieces.size(); i++) {
+            if (pieces.get(i).length > pieces.get(largest).length) {
+                largest = i;
+            }
+        }
+
+        detachCondensedEdges(new int[]{component});
+
+        int[] ids = new int[pieces.size()];
+        for (int i = 0; i < pieces.size(); i++) {
+            int id = i == largest ? component : freeIds[--freeCount];
+            int[] piece = pieces.get(i);
+            ids[i] = id;
+            members[id] = piece;
+            memberCount[id] = piece.length;
+            for (int v : piece) {
+                componentOf[v] = id;
+            }
+        }
+        componentCount += pieces.size() - 1;
+
+        attachCondensedEdges(ids);
+
+        int[] after = ids.clone();
+        Arrays.sort(after);
+        fire(new ChangeEvent(ChangeType.SPLIT, new int[]{component}, after));
+    }
+
+    private List<int[]> localTarjan(int component) {
+        int[] vertices = members[component];
+        int size = memberCount[component];
+        int[] stack = new int[size];
+        int[] callStack = new int[size];
+        int stackSize = 0;
+        int counter = 0;
+        List<int[]> pieces = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            index[vertices[i]] = -1;
+        }
+
+        for (int r = 0; r < size; r++) {
+            int root = vertices[r];
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int depth = 0;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            edgeCursor[root] = 0;
+            callStack[depth++] = root;
+
+            while (depth > 0) {
+                int at = callStack[depth - 1];
+
+                if (edgeCursor[at] < outSize[at]) {
+                    metrics.incrementEdgeTraversals();
+                    int to = outTargets[at][edgeCursor[at]++];
+                    if (componentOf[to] != component) {
+                        continue;
+                    }
+
+                    if (index[to] == -1) {
+                        index[to] = low[to] = counter++;
+                        stack[stackSize++] = to;
+                        onStack[to] = true;
+                        edgeCursor[to] = 0;
+                        callStack[depth++] = to;
+                    } else if (onStack[to]) {
+                        low[at] = Math.min(low[at], index[to]);
+                    }
+                    continue;
+                }
+
+                depth--;
+
+                if (index[at] == low[at]) {
+                    int top = stackSize;
+                    while (stack[--stackSize] != at) {
+                        onStack[stack[stackSize]] = false;
+                    }
+                    onStack[at] = false;
+                    pieces.add(Arrays.copyOfRange(stack, stackSize, top));
+                }
+
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[at]);
+                }
+            }
+        }
+
+        return pieces;
+    }
+
+    private void detachCondensedEdges(int[] components) {
+        for (int c : components) {
+            CondensedEdges out = condensedOut[c];
+            for (int i = 0; i < out.size; i++) {
+                condensedIn[out.keys[i]].remove(c);
+            }
+            CondensedEdges in = condensedIn[c];
+            for (int i = 0; i < in.size; i++) {
+                condensedOut[in.keys[i]].remove(c);
+            }
+            out.clear();
+            in.clear();
+        }
+    }
+
+    private void attachCondensedEdges(int[] components) {
+        componentStamp++;
+        for (int c : components) {
+            componentMark[c] = componentStamp;
+        }
+
+        for (int c : components) {
+            for (int i = 0; i < memberCount[c]; i++) {
+                int v = members[c][i];
+                for (int j = 0; j < outSize[v]; j++) {
+                    int d = componentOf[outTargets[v][j]];
+                    if (d != c) {
+                        addCondensedEdge(c, d, outWeights[v][j]);
+                    }
+                }
+                for (int j = 0; j < inSize[v]; j++) {
+                    int d = componentOf[inSources[v][j]];
+                    if (componentMark[d] != componentStamp) {
+                        addCondensedEdge(d, c, inWeights[v][j]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addCondensedEdge(int from, int to, double weight) {
+        CondensedEdges out = condensedOut[from];
+        int slot = out.find(to);
+        if (slot < 0) {
+            out.add(to, weight);
+            condensedIn[to].add(from, weight);
+        } else {
+            out.counts[slot]++;
+            out.weights[slot] = Math.min(out.weights[slot], weight);
+        }
+    }
+
+    private double minWeightBetween(int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < memberCount[from]; i++) {
+            int v = members[from][i];
+            for (int j = 0; j < outSize[v]; j++) {
+                if (componentOf[outTargets[v][j]] == to) {
+                    min = Math.min(min, outWeights[v][j]);
+                }
+            }
+        }
+        return min;
+    }
+
+    private void link(int from, int to, double weight) {
+        int i = outSize[from]++;
+        if (i == outTargets[from].length) {
+            int capacity = Math.max(4, i * 2);
+            outTargets[from] = Arrays.copyOf(outTargets[from], capacity);
+            outWeights[from] = Arrays.copyOf(outWeights[from], capacity);
+        }
+        outTargets[from][i] = to;
+        outWeights[from][i] = weight;
+
+        int j = inSize[to]++;
+        if (j == inSources[to].length) {
+            int capacity = Math.max(4, j * 2);
+            inSources[to] = Arrays.copyOf(inSources[to], capacity);
+            inWeights[to] = Arrays.copyOf(inWeights[to], capacity);
+        }
+        inSources[to][j] = from;
+        inWeights[to][j] = weight;
+    }
+
+    private void unlink(int from, int outIndex, int to) {
+        double weight = outWeights[from][outIndex];
+        int last = --outSize[from];
+        outTargets[from][outIndex] = outTargets[from][last];
+        outWeights[from][outIndex] = outWeights[from][last];
+
+        for (int j = 0; j < inSize[to]; j++) {
+            if (inSources[to][j] == from && inWeights[to][j] == weight) {
+                int lastIn = --inSize[to];
+                inSources[to][j] = inSources[to][lastIn];
+                inWeights[to][j] = inWeights[to][lastIn];
+                return;
+            }
+        }
+    }
+
+    private void fire(ChangeEvent event) {
+        for (Listener listener : listeners) {
+            listener.onChange(event);
+        }
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= numVertices) {
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + numVertices + ")");
+        }
+    }
+
+    private static int[] push(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+
+    private static int indexOf(int[] array, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class CondensedEdges {
+        private static final int LINEAR_LIMIT = 8;
+
+        int size;
+        int[] keys = EMPTY;
+        int[] counts = EMPTY;
+        double[] weights = EMPTY_WEIGHTS;
+        private int[] index;
+
+        int find(int key) {
+            if (index == null) {
+                return indexOf(keys, size, key);
+            }
+            int mask = index.length - 1;
+            for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+                int entry = index[slot];
+                if (entry == 0) {
+                    return -1;
+                }
+                if (keys[entry - 1] == key) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        void add(int key, double weight) {
+            if (size == keys.length) {
+                int capacity = Math.max(4, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            keys[size] = key;
+            counts[size] = 1;
+            weights[size] = weight;
+            size++;
+
+            if (index != null && size * 2 <= index.length) {
+                insert(size - 1);
+            } else if (size > LINEAR_LIMIT) {
+                rebuildIndex();
+            }
+        }
+
+        void remove(int key) {
+            int slot = find(key);
+            if (slot >= 0) {
+                removeAt(slot);
+            }
+        }
+
+        void removeAt(int slot) {
+            int last = --size;
+            if (index != null) {
+                unindex(slot);
+                if (slot != last) {
+                    index[indexSlot(last)] = slot + 1;
+                }
+            }
+            keys[slot] = keys[last];
+            counts[slot] = counts[last];
+            weights[slot] = weights[last];
+        }
+
+        void clear() {
+            size = 0;
+            index = null;
+        }
+
+        private int indexSlot(int position) {
+            int mask = index.length - 1;
+            int slot = mix(keys[position]) & mask;
+            while (index[slot] != position + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void unindex(int position) {
+            int mask = index.length - 1;
+            int hole = indexSlot(position);
+            for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+                int home = mix(keys[index[next] - 1]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    index[hole] = index[next];
+                    hole = next;
+                }
+            }
+            index[hole] = 0;
+        }
+
+        private void insert(int position) {
+            int mask = index.length - 1;
+            int slot = mix(keys[position]) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = position + 1;
+        }
+
+        private void rebuildIndex() {
+            int capacity = 16;
+            while (capacity < size * 4) {
+                capacity <<= 1;
+            }
+            index = new int[capacity];
+            for (int i = 0; i < size; i++) {
+                insert(i);
+            }
+        }
+
+        private static int mix(int key) {
+            int hash = key * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    public enum ChangeType {
+        MERGE,
+        SPLIT
+    }
+
+    public static class ChangeEvent {
+        public final ChangeType type;
+        public final int[] before;
+        public final int[] after;
+
+        public ChangeEvent(ChangeType type, int[] before, int[] after) {
+            this.type = type;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    public interface Listener {
+        void onChange(ChangeEvent event);
+    }
+}
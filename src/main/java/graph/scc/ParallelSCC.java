@@ -0,0 +1,404 @@
+package graph.scc;
+
+import graph.common.CSRGraph;
+import graph.common.Graph;
+import graph.common.Metrics;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ParallelSCC {
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 50_000;
+
+    private static final int DONE = -1;
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int LOCAL_TARJAN_THRESHOLD = 2_048;
+    private static final int FRONTIER_SPLIT = 4_096;
+
+    private final CSRGraph graph;
+    private final Metrics metrics;
+    private final int parallelism;
+    private int sequentialThreshold = DEFAULT_SEQUENTIAL_THRESHOLD;
+
+    private CSRGraph reverse;
+    private AtomicIntegerArray color;
+    private int[] componentOf;
+    private int[] index;
+    private int[] low;
+    private int[] edgeCursor;
+    private boolean[] onStack;
+    private AtomicInteger nextColor;
+    private AtomicInteger nextComponent;
+    private LongAdder edgeTraversals;
+    private LongAdder dfsVisits;
+
+    public ParallelSCC(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelSCC(Graph graph, Metrics metrics, int parallelism) {
+        this(graph.toCSR(), metrics, parallelism);
+    }
+
+    public ParallelSCC(CSRGraph graph, Metrics metrics, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.graph = graph;
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    public void setSequentialThreshold(int sequentialThreshold) {
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    public List<List<Integer>> findSCCs() {
+        return decompose().asLists();
+    }
+
+    public SCCResult decompose() {
+        int n = graph.getNumVertices();
+        if (n < sequentialThreshold || parallelism == 1) {
+            return new TarjanSCC(graph, metrics).decompose();
+        }
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.SCC);
+
+        reverse = graph.transpose();
+        color = new AtomicIntegerArray(n);
+        componentOf = new int[n];
+        index = new int[n];
+        low = new int[n];
+        edgeCursor = new int[n];
+        onStack = new boolean[n];
+        nextColor = new AtomicInteger();
+        nextComponent = new AtomicInteger();
+        edgeTraversals = new LongAdder();
+        dfsVisits = new LongAdder();
+
+        int[] remaining = trim();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ForwardBackwardTask(remaining, 0));
+        } finally {
+            pool.shutdown();
+        }
+
+        SCCResult sccs = collectComponents();
+
+        metrics.addEdgeTraversals(edgeTraversals.sum());
+        metrics.addDfsVisits(dfsVisits.sum());
+        timer.stop();
+
+        reverse = null;
+        color = null;
+        componentOf = null;
+        index = null;
+        low = null;
+        edgeCursor = null;
+        onStack = null;
+        edgeTraversals = null;
+        dfsVisits = null;
+
+        return sccs;
+    }
+
+    private int[] trim() {
+        int n = graph.getNumVertices();
+        int[] targets = graph.getTargets();
+        int[] sources = reverse.getTargets();
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        long traversed = 0;
+
+        for (int v = 0; v < n; v++) {
+            outDegree[v] = graph.outDegree(v);
+            inDegree[v] = reverse.outDegree(v);
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                color.set(v, DONE);
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            int v = queue[head++];
+            componentOf[v] = nextComponent.getAndIncrement();
+            traversed += graph.outDegree(v) + reverse.outDegree(v);
+
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                int to = targets[e];
+                if (color.get(to) != DONE && --inDegree[to] == 0) {
+                    color.set(to, DONE);
+                    queue[tail++] = to;
+                }
+            }
+            for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+                int from = sources[e];
+                if (color.get(from) != DONE && --outDegree[from] == 0) {
+                    color.set(from, DONE);
+                    queue[tail++] = from;
+                }
+            }
+        }
+
+        edgeTraversals.add(traversed);
+
+        int[] remaining = new int[n - tail];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            if (color.get(v) != DONE) {
+                remaining[k++] = v;
+            }
+        }
+        return remaining;
+    }
+
+    private SCCResult collectComponents() {
+        int n = graph.getNumVertices();
+        int[] renumber = new int[nextComponent.get()];
+        Arrays.fill(renumber, -1);
+
+        int count = 0;
+        int[] componentOffsets = new int[renumber.length + 1];
+        for (int v = 0; v < n; v++) {
+            int c = componentOf[v];
+            if (renumber[c] == -1) {
+                renumber[c] = count++;
+            }
+            componentOf[v] = renumber[c];
+            componentOffsets[componentOf[v] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            componentOffsets[c + 1] += componentOffsets[c];
+        }
+
+        int[] next = Arrays.copyOf(componentOffsets, count);
+        int[] members = new int[n];
+        for (int v = 0; v < n; v++) {
+            members[next[componentOf[v]]++] = v;
+        }
+
+        return new SCCResult(componentOf, Arrays.copyOf(componentOffsets, count + 1), members);
+    }
+
+    private class ForwardBackwardTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] vertices;
+        private final int setColor;
+
+        ForwardBackwardTask(int[] vertices, int setColor) {
+            this.vertices = vertices;
+            this.setColor = setColor;
+        }
+
+        @Override
+        protected void compute() {
+            if (vertices.length == 0) {
+                return;
+            }
+            if (vertices.length <= LOCAL_TARJAN_THRESHOLD) {
+                localTarjan(vertices, setColor);
+                return;
+            }
+
+            int pivot = vertices[0];
+            int forwardColor = nextColor.incrementAndGet();
+            int backwardColor = nextColor.incrementAndGet();
+            int sccColor = nextColor.incrementAndGet();
+
+            color.set(pivot, forwardColor);
+            reach(graph, new int[]{pivot}, setColor, forwardColor, NONE, NONE);
+
+            color.set(pivot, sccColor);
+            reach(reverse, new int[]{pivot}, forwardColor, sccColor, setColor, backwardColor);
+
+            int component = nextComponent.getAndIncrement();
+            int forwardCount = 0;
+            int backwardCount = 0;
+            int restCount = 0;
+            for (int v : vertices) {
+                int c = color.get(v);
+                if (c == forwardColor) forwardCount++;
+                else if (c == backwardColor) backwardCount++;
+                else if (c == setColor) restCount++;
+            }
+
+            int[] forward = new int[forwardCount];
+            int[] backward = new int[backwardCount];
+            int[] rest = new int[restCount];
+            forwardCount = backwardCount = restCount = 0;
+            for (int v : vertices) {
+                int c = color.get(v);
+                if (c == forwardColor) {
+                    forward[forwardCount++] = v;
+                } else if (c == backwardColor) {
+                    backward[backwardCount++] = v;
+                } else if (c == setColor) {
+                    rest[restCount++] = v;
+                } else if (c == sccColor) {
+                    componentOf[v] = component;
+                    color.set(v, DONE);
+                }
+            }
+
+            invokeAll(new ForwardBackwardTask(forward, forwardColor),
+                    new ForwardBackwardTask(backward, backwardColor),
+                    new ForwardBackwardTask(rest, setColor));
+        }
+    }
+
+    private void reach(CSRGraph direction, int[] frontier, int fromA, int toA, int fromB, int toB) {
+        while (frontier.length > 0) {
+            frontier = new FrontierTask(direction, frontier, 0, frontier.length,
+                    fromA, toA, fromB, toB).compute();
+        }
+    }
+
+    private class FrontierTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph direction;
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private final int fromA;
+        private final int toA;
+        private final int fromB;
+        private final int toB;
+
+        FrontierTask(CSRGraph direction, int[] frontier, int from, int to,
+                     int fromA, int toA, int fromB, int toB) {
+            this.direction = direction;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.fromA = fromA;
+            this.toA = toA;
+            this.fromB = fromB;
+            this.toB = toB;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > FRONTIER_SPLIT) {
+                int mid = (from + to) >>> 1;
+                FrontierTask left = new FrontierTask(direction, frontier, from, mid, fromA, toA, fromB, toB);
+                FrontierTask right = new FrontierTask(direction, frontier, mid, to, fromA, toA, fromB, toB);
+                left.fork();
+                int[] rightNext = right.compute();
+                int[] leftNext = left.join();
+
+                int[] next = Arrays.copyOf(leftNext, leftNext.length + rightNext.length);
+                System.arraycopy(rightNext, 0, next, leftNext.length, rightNext.length);
+                return next;
+            }
+
+            int[] targets = direction.getTargets();
+            int[] next = new int[16];
+            int size = 0;
+            long traversed = 0;
+
+            for (int i = from; i < to; i++) {
+                int v = frontier[i];
+                traversed += direction.outDegree(v);
+                for (int e = direction.edgeStart(v), end = direction.edgeEnd(v); e < end; e++) {
+                    int w = targets[e];
+                    int c = color.get(w);
+                    boolean claimed = (c == fromA && color.compareAndSet(w, fromA, toA))
+                            || (c == fromB && color.compareAndSet(w, fromB, toB));
+                    if (claimed) {
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, size * 2);
+                        }
+                        next[size++] = w;
+                    }
+                }
+            }
+
+            edgeTraversals.add(traversed);
+            return Arrays.copyOf(next, size);
+        }
+    }
+
+    private void localTarjan(int[] vertices, int setColor) {
+        int[] targets = graph.getTargets();
+        int[] stack = new int[vertices.length];
+        int[] callStack = new int[vertices.length];
+        int stackSize = 0;
+        int counter = 0;
+        long traversed = 0;
+
+        for (int v : vertices) {
+            index[v] = -1;
+        }
+
+        for (int root : vertices) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int depth = 0;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            edgeCursor[root] = graph.edgeStart(root);
+            callStack[depth++] = root;
+
+            while (depth > 0) {
+                int at = callStack[depth - 1];
+
+                if (edgeCursor[at] < graph.edgeEnd(at)) {
+                    int to = targets[edgeCursor[at]++];
+                    if (color.get(to) != setColor) {
+                        continue;
+                    }
+
+                    if (index[to] == -1) {
+                        index[to] = low[to] = counter++;
+                        stack[stackSize++] = to;
+                        onStack[to] = true;
+                        edgeCursor[to] = graph.edgeStart(to);
+                        callStack[depth++] = to;
+                    } else if (onStack[to]) {
+                        low[at] = Math.min(low[at], index[to]);
+                    }
+                    continue;
+                }
+
+                depth--;
+
+                if (index[at] == low[at]) {
+                    int component = nextComponent.getAndIncrement();
+                    while (true) {
+                        int node = stack[--stackSize];
+                        onStack[node] = false;
+                        componentOf[node] = component;
+                        if (node == at) break;
+                    }
+                }
+
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[at]);
+                }
+            }
+        }
+
+        for (int v : vertices) {
+            color.set(v, DONE);
+            traversed += graph.outDegree(v);
+        }
+        edgeTraversals.add(traversed);
+        dfsVisits.add(vertices.length);
+    }
+}
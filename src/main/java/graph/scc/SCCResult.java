@@ -0,0 +1,120 @@
+package graph.scc;
+
+import java.util.*;
+
+public class SCCResult {
+    private final int[] componentOf;
+    private final int[] componentOffsets;
+    private final int[] members;
+
+    public SCCResult(int[] componentOf, int[] componentOffsets, int[] members) {
+        if (members.length != componentOf.length
+                || componentOffsets[componentOffsets.length - 1] != members.length) {
+            throw new IllegalArgumentException("members must list every vertex exactly once");
+        }
+        this.componentOf = componentOf;
+        this.componentOffsets = componentOffsets;
+        this.members = members;
+    }
+
+    public static SCCResult fromLists(List<List<Integer>> sccs, int numVertices) {
+        int[] componentOf = new int[numVertices];
+        int[] componentOffsets = new int[sccs.size() + 1];
+        int[] members = new int[numVertices];
+        int next = 0;
+
+        for (int c = 0; c < sccs.size(); c++) {
+            for (int v : sccs.get(c)) {
+                componentOf[v] = c;
+                members[next++] = v;
+            }
+            componentOffsets[c + 1] = next;
+        }
+
+        return new SCCResult(componentOf, componentOffsets, members);
+    }
+
+    public int getNumVertices() {
+        return componentOf.length;
+    }
+
+    public int componentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    public int componentOf(int vertex) {
+        return componentOf[vertex];
+    }
+
+    public int componentSize(int component) {
+        return componentOffsets[component + 1] - componentOffsets[component];
+    }
+
+    public int member(int component, int i) {
+        return members[componentOffsets[component] + i];
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return componentOf[u] == componentOf[v];
+    }
+
+    public int[] getComponentOf() {
+        return componentOf;
+    }
+
+    public int[] getComponentOffsets() {
+        return componentOffsets;
+    }
+
+    public int[] getMembers() {
+        return members;
+    }
+
+    public List<List<Integer>> asLists() {
+        return new ComponentListView();
+    }
+
+    public List<Integer> asList(int component) {
+        return new MemberView(component);
+    }
+
+    private class ComponentListView extends AbstractList<List<Integer>> implements RandomAccess {
+        @Override
+        public List<Integer> get(int component) {
+            Objects.checkIndex(component, componentCount());
+            return new MemberView(component);
+        }
+
+        @Override
+        public int size() {
+            return componentCount();
+        }
+    }
+
+    private class MemberView extends AbstractList<Integer> implements RandomAccess {
+        private final int from;
+        private final int size;
+
+        MemberView(int component) {
+            this.from = componentOffsets[component];
+            this.size = componentOffsets[component + 1] - from;
+        }
+
+        @Override
+        public Integer get(int i) {
+            Objects.checkIndex(i, size);
+            return members[from + i];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return size > 0 && o instanceof Integer && (Integer) o >= 0 && (Integer) o < componentOf.length
+                    && componentOf[(Integer) o] == componentOf[members[from]];
+        }
+    }
+}
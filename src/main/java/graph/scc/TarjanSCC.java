@@ -1,130 +1,172 @@
 package graph.scc;
 
+import graph.common.CSRGraph;
 import graph.common.Graph;
 import graph.common.Metrics;
+import java.io.PrintStream;
 import java.util.*;
 
 public class TarjanSCC {
-    private final Graph graph;
+    private final CSRGraph graph;
     private final Metrics metrics;
     private int[] ids;
     private int[] low;
     private boolean[] onStack;
-    private Deque<Integer> stack;
+    private int[] stack;
+    private int stackSize;
     private int id;
-    private List<List<Integer>> sccs;
+    private int[] componentOf;
+    private int[] componentOffsets;
+    private int[] members;
+    private int componentCount;
+    private int memberCount;
 
     public TarjanSCC(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics);
+    }
+
+    public TarjanSCC(CSRGraph graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
     }
 
     public List<List<Integer>> findSCCs() {
+        return decompose().asLists();
+    }
+
+    public SCCResult decompose() {
         int n = graph.getNumVertices();
         ids = new int[n];
         low = new int[n];
         onStack = new boolean[n];
-        stack = new ArrayDeque<>();
-        sccs = new ArrayList<>();
+        stack = new int[n];
+        stackSize = 0;
+        componentOf = new int[n];
+        componentOffsets = new int[n + 1];
+        members = new int[n];
+        componentCount = 0;
+        memberCount = 0;
         id = 0;
 
         Arrays.fill(ids, -1);
+        int[] callStack = new int[n];
+        int[] edgeCursor = new int[n];
 
-        metrics.startTimer();
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.SCC);
 
         for (int i = 0; i < n; i++) {
             if (ids[i] == -1) {
-                dfs(i);
+                dfs(i, callStack, edgeCursor);
             }
         }
 
-        metrics.stopTimer();
-
-        return sccs;
+        metrics.addDfsVisits(n);
+        metrics.addEdgeTraversals(graph.countEdges());
+        metrics.addStackOperations(2L * n);
+        timer.stop();
+
+        SCCResult result = new SCCResult(componentOf,
+                Arrays.copyOf(componentOffsets, componentCount + 1), members);
+        ids = null;
+        low = null;
+        onStack = null;
+        stack = null;
+        return result;
     }
 
-    private void dfs(int at) {
-        metrics.incrementDfsVisits();
+    private void dfs(int root, int[] callStack, int[] edgeCursor) {
+        int[] targets = graph.getTargets();
+        int depth = 0;
 
-        ids[at] = low[at] = id++;
-        stack.push(at);
-        metrics.incrementStackOperations();
-        onStack[at] = true;
+        visit(root, edgeCursor);
+        callStack[depth++] = root;
 
-        for (Graph.Edge edge : graph.getNeighbors(at)) {
-            metrics.incrementEdgeTraversals();
-            int to = edge.to;
+        while (depth > 0) {
+            int at = callStack[depth - 1];
 
-            if (ids[to] == -1) {
-                dfs(to);
-            }
+            if (edgeCursor[at] < graph.edgeEnd(at)) {
+                int to = targets[edgeCursor[at]++];
 
-            if (onStack[to]) {
-                low[at] = Math.min(low[at], low[to]);
+                if (ids[to] == -1) {
+                    visit(to, edgeCursor);
+                    callStack[depth++] = to;
+                } else if (onStack[to]) {
+                    low[at] = Math.min(low[at], low[to]);
+                }
+                continue;
             }
-        }
 
-        if (ids[at] == low[at]) {
-            List<Integer> scc = new ArrayList<>();
+            depth--;
 
-            while (true) {
-                int node = stack.pop();
-                metrics.incrementStackOperations();
-                onStack[node] = false;
-                scc.add(node);
+            if (ids[at] == low[at]) {
+                while (true) {
+                    int node = stack[--stackSize];
+                    onStack[node] = false;
+                    componentOf[node] = componentCount;
+                    members[memberCount++] = node;
+
+                    if (node == at) break;
+                }
 
-                if (node == at) break;
+                componentOffsets[++componentCount] = memberCount;
             }
 
-            sccs.add(scc);
+            if (depth > 0 && onStack[at]) {
+                int parent = callStack[depth - 1];
+                low[parent] = Math.min(low[parent], low[at]);
+            }
         }
     }
 
-    public Graph buildCondensation(List<List<Integer>> sccs) {
-        int numSCCs = sccs.size();
-        Graph condensation = new Graph(numSCCs);
+    private void visit(int at, int[] edgeCursor) {
+        ids[at] = low[at] = id++;
+        stack[stackSize++] = at;
+        onStack[at] = true;
+        edgeCursor[at] = graph.edgeStart(at);
+    }
 
-        Map<Integer, Integer> vertexToSCC = new HashMap<>();
-        for (int i = 0; i < sccs.size(); i++) {
-            for (int vertex : sccs.get(i)) {
-                vertexToSCC.put(vertex, i);
-            }
-            condensation.setTaskName(i, "SCC" + i + "_size" + sccs.get(i).size());
-        }
+    public Graph buildCondensation(List<List<Integer>> sccs) {
+        return buildCondensationCSR(sccs).toGraph();
+    }
 
-        Set<String> addedEdges = new HashSet<>();
-        for (int v = 0; v < graph.getNumVertices(); v++) {
-            int fromSCC = vertexToSCC.get(v);
+    public CSRGraph buildCondensationCSR(List<List<Integer>> sccs) {
+        return buildCondensationCSR(sccs, CondensationBuilder.WeightAggregation.FIRST, 1);
+    }
 
-            for (Graph.Edge edge : graph.getNeighbors(v)) {
-                int toSCC = vertexToSCC.get(edge.to);
+    public CSRGraph buildCondensationCSR(List<List<Integer>> sccs,
+                                         CondensationBuilder.WeightAggregation aggregation, int parallelism) {
+        return buildCondensationCSR(SCCResult.fromLists(sccs, graph.getNumVertices()), aggregation, parallelism);
+    }
 
-                if (fromSCC != toSCC) {
-                    String edgeKey = fromSCC + "->" + toSCC;
-                    if (!addedEdges.contains(edgeKey)) {
-                        condensation.addEdge(fromSCC, toSCC, edge.weight);
-                        addedEdges.add(edgeKey);
-                    }
-                }
-            }
-        }
+    public CSRGraph buildCondensationCSR(SCCResult sccs) {
+        return buildCondensationCSR(sccs, CondensationBuilder.WeightAggregation.FIRST, 1);
+    }
 
-        return condensation;
+    public CSRGraph buildCondensationCSR(SCCResult sccs,
+                                         CondensationBuilder.WeightAggregation aggregation, int parallelism) {
+        return new CondensationBuilder(graph, metrics)
+                .build(sccs.getComponentOf(), sccs.componentCount(), aggregation, parallelism);
     }
 
     public void printSCCs(List<List<Integer>> sccs) {
-        System.out.println("\nStrongly Connected Components");
-        System.out.println("Total SCCs: " + sccs.size());
+        printSCCs(sccs, System.out);
+    }
+
+    public void printSCCs(List<List<Integer>> sccs, PrintStream out) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nStrongly Connected Components\n");
+        sb.append("Total SCCs: ").append(sccs.size()).append('\n');
 
         for (int i = 0; i < sccs.size(); i++) {
             List<Integer> scc = sccs.get(i);
-            System.out.print("SCC " + i + " (size " + scc.size() + "): [");
+            sb.append("SCC ").append(i).append(" (size ").append(scc.size()).append("): [");
 
             for (int j = 0; j < scc.size(); j++) {
-                System.out.print(graph.getTaskName(scc.get(j)));
-                if (j < scc.size() - 1) System.out.print(", ");
+                sb.append(graph.getTaskName(scc.get(j)));
+                if (j < scc.size() - 1) sb.append(", ");
             }
-            System.out.println("]");
+            sb.append("]\n");
         }
+        out.print(sb);
     }
 }
\ No newline at end of file
@@ -0,0 +1,256 @@
+package graph.schedule;
+
+import graph.common.CSRGraph;
+import graph.common.Formatting;
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.topo.TopologicalSort;
+import java.io.PrintStream;
+import java.util.*;
+
+public class ListScheduler {
+    private final CSRGraph graph;
+    private final Metrics metrics;
+    private int[] topoOrder;
+    private boolean topoComputed;
+    private double[] durations;
+
+    public ListScheduler(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics);
+    }
+
+    public ListScheduler(CSRGraph graph, Metrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+    }
+
+    public ListScheduler(CSRGraph graph, int[] topoOrder, Metrics metrics) {
+        this(graph, metrics);
+        TopologicalSort.checkOrder(graph, topoOrder);
+        this.topoOrder = topoOrder;
+        this.topoComputed = true;
+    }
+
+    public void setDurations(double[] durations) {
+        if (durations != null) {
+            checkDurations(durations, graph.getNumVertices());
+        }
+        this.durations = durations;
+    }
+
+    public ScheduleResult schedule(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1");
+        }
+        if (!topoComputed) {
+            topoOrder = new TopologicalSort(graph, Metrics.noOp()).kahnOrder();
+            topoComputed = true;
+        }
+        if (topoOrder == null) {
+            return null;
+        }
+
+        int n = graph.getNumVertices();
+        double[] taskDurations = durations;
+        if (taskDurations == null && graph.hasNodeWeights()) {
+            taskDurations = graph.getNodeWeights();
+            checkDurations(taskDurations, n);
+        }
+
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.SCHEDULE);
+
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        double[] duration = new double[n];
+        double[] lagBase = new double[n];
+        int[] position = new int[n];
+        int[] pendingPreds = new int[n];
+        for (int i = 0; i < n; i++) {
+            int u = topoOrder[i];
+            position[u] = i;
+            if (taskDurations != null) {
+                duration[u] = taskDurations[u];
+                lagBase[u] = taskDurations[u];
+            } else {
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    duration[u] = Math.max(duration[u], weights[e]);
+                }
+            }
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                pendingPreds[targets[e]]++;
+            }
+        }
+
+        double[] bottomLevel = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int u = topoOrder[i];
+            double level = duration[u];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                level = Math.max(level, lagBase[u] + weights[e] + bottomLevel[targets[e]]);
+            }
+            bottomLevel[u] = level;
+        }
+
+        double[] start = new double[n];
+        double[] finish = new double[n];
+        int[] worker = new int[n];
+        double[] busy = new double[workers];
+        double[] release = new double[n];
+
+        int initial = Math.min(n, 1_024);
+        TaskHeap pending = new TaskHeap(initial);
+        TaskHeap ready = new TaskHeap(initial);
+        TaskHeap free = new TaskHeap(workers);
+        for (int w = 0; w < workers; w++) {
+            free.push(0, w, w);
+        }
+        for (int u = 0; u < n; u++) {
+            if (pendingPreds[u] == 0) {
+                pending.push(0, position[u], u);
+            }
+        }
+
+        long heapOperations = 0;
+        double makespan = 0;
+        double now = 0;
+        for (int scheduled = 0; scheduled < n; scheduled++) {
+            now = Math.max(now, free.peekKey());
+            if (ready.isEmpty() && pending.peekKey() > now) {
+                now = pending.peekKey();
+            }
+            while (!pending.isEmpty() && pending.peekKey() <= now) {
+                int v = pending.pop();
+                ready.push(-bottomLevel[v], position[v], v);
+                heapOperations += 2;
+            }
+
+            int u = ready.pop();
+            int w = free.pop();
+            start[u] = now;
+            finish[u] = now + duration[u];
+            worker[u] = w;
+            busy[w] += duration[u];
+            free.push(finish[u], w, w);
+            heapOperations += 3;
+            makespan = Math.max(makespan, finish[u]);
+
+            double released = now + lagBase[u];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = targets[e];
+                release[v] = Math.max(release[v], released + weights[e]);
+                if (--pendingPreds[v] == 0) {
+                    pending.push(release[v], position[v], v);
+                    heapOperations++;
+                }
+            }
+        }
+
+        metrics.addEdgeTraversals(2L * graph.countEdges());
+        metrics.addStackOperations(heapOperations);
+        timer.stop();
+
+        return new ScheduleResult(start, finish, worker, busy, makespan);
+    }
+
+    public void printSchedule(ScheduleResult schedule, PrintStream out) {
+        if (schedule == null) {
+            out.print("\nList Schedule\nNo schedule found (graph may have cycle)\n");
+            return;
+        }
+
+        int n = schedule.start.length;
+        int[] byStart = new int[n];
+        for (int v = 0; v < n; v++) {
+            byStart[v] = v;
+        }
+        sortByStart(byStart, schedule.start, schedule.worker);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nList Schedule (").append(schedule.workerCount()).append(" workers)\nMakespan: ");
+        Formatting.appendFixed(sb, schedule.makespan);
+        sb.append("\nUtilization: ").append(String.format(Locale.ROOT, "%.1f", schedule.utilization() * 100)).append("%\n");
+        for (int v : byStart) {
+            sb.append(graph.getTaskName(v)).append(": start=");
+            Formatting.appendFixed(sb, schedule.start[v]);
+            sb.append(" finish=");
+            Formatting.appendFixed(sb, schedule.finish[v]);
+            sb.append(" worker=").append(schedule.worker[v]).append('\n');
+        }
+        out.print(sb);
+    }
+
+    private static void checkDurations(double[] durations, int n) {
+        if (durations.length != n) {
+            throw new IllegalArgumentException("durations must have one entry per vertex");
+        }
+        for (double duration : durations) {
+            if (!(duration >= 0) || Double.isInfinite(duration)) {
+                throw new IllegalArgumentException("durations must be finite and non-negative");
+            }
+        }
+    }
+
+    private static void sortByStart(int[] order, double[] start, int[] worker) {
+        int n = order.length;
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width <<= 1) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    int a = order[i];
+                    int b = order[j];
+                    if (start[b] < start[a] || (start[b] == start[a] && worker[b] < worker[a])) {
+                        buffer[k++] = b;
+                        j++;
+                    } else {
+                        buffer[k++] = a;
+                        i++;
+                    }
+                }
+                while (i < mid) {
+                    buffer[k++] = order[i++];
+                }
+                while (j < hi) {
+                    buffer[k++] = order[j++];
+                }
+                System.arraycopy(buffer, lo, order, lo, hi - lo);
+            }
+        }
+    }
+
+    public static class ScheduleResult {
+        public final double[] start;
+        public final double[] finish;
+        public final int[] worker;
+        public final double[] workerBusy;
+        public final double makespan;
+
+        public ScheduleResult(double[] start, double[] finish, int[] worker, double[] workerBusy, double makespan) {
+            this.start = start;
+            this.finish = finish;
+            this.worker = worker;
+            this.workerBusy = workerBusy;
+            this.makespan = makespan;
+        }
+
+        public int workerCount() {
+            return workerBusy.length;
+        }
+
+        public double utilization() {
+            if (makespan <= 0) {
+                return 0;
+            }
+            double total = 0;
+            for (double busy : workerBusy) {
+                total += busy;
+            }
+            return total / (makespan * workerBusy.length);
+        }
+    }
+}
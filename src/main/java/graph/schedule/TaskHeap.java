@@ -0,0 +1,94 @@
+package graph.schedule;
+
+import java.util.Arrays;
+
+class TaskHeap {
+    private double[] keys;
+    private int[] ties;
+    private int[] values;
+    private int size;
+
+    TaskHeap(int capacity) {
+        int initial = Math.max(capacity, 1);
+        keys = new double[initial];
+        ties = new int[initial];
+        values = new int[initial];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    int peek() {
+        return values[0];
+    }
+
+    void push(double key, int tie, int value) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            ties = Arrays.copyOf(ties, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        int i = size++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (!before(key, tie, keys[up], ties[up])) {
+                break;
+            }
+            keys[i] = keys[up];
+            ties[i] = ties[up];
+            values[i] = values[up];
+            i = up;
+        }
+        keys[i] = key;
+        ties[i] = tie;
+        values[i] = value;
+    }
+
+    int pop() {
+        int top = values[0];
+        size--;
+        if (size == 0) {
+            return top;
+        }
+
+        double key = keys[size];
+        int tie = ties[size];
+        int value = values[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(keys[child + 1], ties[child + 1], keys[child], ties[child])) {
+                child++;
+            }
+            if (!before(keys[child], ties[child], key, tie)) {
+                break;
+            }
+            keys[i] = keys[child];
+            ties[i] = ties[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        ties[i] = tie;
+        values[i] = value;
+        return top;
+    }
+
+    private static boolean before(double keyA, int tieA, double keyB, int tieB) {
+        return keyA < keyB || (keyA == keyB && tieA < tieB);
+    }
+}
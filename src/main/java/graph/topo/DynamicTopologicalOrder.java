@@ -0,0 +1,233 @@
+package graph.topo;
+
+import graph.common.CSRGraph;
+import graph.common.Graph;
+import graph.common.Metrics;
+import java.util.Arrays;
+
+public class DynamicTopologicalOrder {
+    private static final int[] EMPTY = new int[0];
+
+    private final int numVertices;
+    private final Metrics metrics;
+    private final int[][] out;
+    private final int[][] in;
+    private final int[] outSize;
+    private final int[] inSize;
+    private final int[] ord;
+    private final int[] vertexAt;
+    private final int[] mark;
+    private int stamp;
+
+    private int[] stack;
+    private int[] forward;
+    private int forwardSize;
+    private int[] backward;
+    private int backwardSize;
+
+    public DynamicTopologicalOrder(int numVertices, Metrics metrics) {
+        this.numVertices = numVertices;
+        this.metrics = metrics;
+        this.out = new int[numVertices][];
+        this.in = new int[numVertices][];
+        this.outSize = new int[numVertices];
+        this.inSize = new int[numVertices];
+        this.ord = new int[numVertices];
+        this.vertexAt = new int[numVertices];
+        this.mark = new int[numVertices];
+        this.stack = new int[16];
+        this.forward = new int[16];
+        this.backward = new int[16];
+
+        Arrays.fill(out, EMPTY);
+        Arrays.fill(in, EMPTY);
+        for (int v = 0; v < numVertices; v++) {
+            ord[v] = v;
+            vertexAt[v] = v;
+        }
+    }
+
+    public DynamicTopologicalOrder(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics);
+    }
+
+    public DynamicTopologicalOrder(CSRGraph graph, Metrics metrics) {
+        this(graph.getNumVertices(), metrics);
+
+        int[] order = new TopologicalSort(graph, Metrics.noOp()).kahnOrder();
+        if (order == null) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+        for (int i = 0; i < order.length; i++) {
+            ord[order[i]] = i;
+            vertexAt[i] = order[i];
+        }
+
+        int[] targets = graph.getTargets();
+        for (int u = 0; u < numVertices; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                link(u, targets[e]);
+            }
+        }
+    }
+
+    public boolean addEdge(int from, int to) {
+        if (from == to) {
+            return false;
+        }
+
+        int lower = ord[to];
+        int upper = ord[from];
+
+        if (lower < upper) {
+            stamp++;
+            forwardSize = 0;
+            if (!searchForward(to, upper)) {
+                return false;
+            }
+            backwardSize = 0;
+            searchBackward(from, lower);
+            reorder();
+        }
+
+        link(from, to);
+        return true;
+    }
+
+    public boolean removeEdge(int from, int to) {
+        int i = indexOf(out[from], outSize[from], to);
+        if (i < 0) {
+            return false;
+        }
+        out[from][i] = out[from][--outSize[from]];
+
+        int j = indexOf(in[to], inSize[to], from);
+        in[to][j] = in[to][--inSize[to]];
+        return true;
+    }
+
+    public boolean hasEdge(int from, int to) {
+        return indexOf(out[from], outSize[from], to) >= 0;
+    }
+
+    public int position(int vertex) {
+        return ord[vertex];
+    }
+
+    public boolean precedes(int u, int v) {
+        return ord[u] < ord[v];
+    }
+
+    public int[] getOrder() {
+        return vertexAt.clone();
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    private boolean searchForward(int start, int upper) {
+        int top = 0;
+        stack = push(stack, top++, start);
+        mark[start] = stamp;
+
+        while (top > 0) {
+            int v = stack[--top];
+            forward = push(forward, forwardSize++, v);
+
+            for (int i = 0; i < outSize[v]; i++) {
+                metrics.incrementEdgeTraversals();
+                int w = out[v][i];
+                if (ord[w] == upper) {
+                    return false;
+                }
+                if (mark[w] != stamp && ord[w] < upper) {
+                    mark[w] = stamp;
+                    stack = push(stack, top++, w);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void searchBackward(int start, int lower) {
+        int top = 0;
+        stack = push(stack, top++, start);
+        mark[start] = stamp;
+
+        while (top > 0) {
+            int v = stack[--top];
+            backward = push(backward, backwardSize++, v);
+
+            for (int i = 0; i < inSize[v]; i++) {
+                metrics.incrementEdgeTraversals();
+                int w = in[v][i];
+                if (mark[w] != stamp && ord[w] > lower) {
+                    mark[w] = stamp;
+                    stack = push(stack, top++, w);
+                }
+            }
+        }
+    }
+
+    private void reorder() {
+        int total = backwardSize + forwardSize;
+        int[] backwardPositions = new int[backwardSize];
+        int[] forwardPositions = new int[forwardSize];
+        for (int i = 0; i < backwardSize; i++) {
+            backwardPositions[i] = ord[backward[i]];
+        }
+        for (int i = 0; i < forwardSize; i++) {
+            forwardPositions[i] = ord[forward[i]];
+        }
+        Arrays.sort(backwardPositions);
+        Arrays.sort(forwardPositions);
+
+        int[] vertices = new int[total];
+        for (int i = 0; i < backwardSize; i++) {
+            vertices[i] = vertexAt[backwardPositions[i]];
+        }
+        for (int i = 0; i < forwardSize; i++) {
+            vertices[backwardSize + i] = vertexAt[forwardPositions[i]];
+        }
+
+        int[] positions = new int[total];
+        int b = 0;
+        int f = 0;
+        for (int i = 0; i < total; i++) {
+            if (f == forwardSize || (b < backwardSize && backwardPositions[b] < forwardPositions[f])) {
+                positions[i] = backwardPositions[b++];
+            } else {
+                positions[i] = forwardPositions[f++];
+            }
+        }
+
+        for (int i = 0; i < total; i++) {
+            ord[vertices[i]] = positions[i];
+            vertexAt[positions[i]] = vertices[i];
+            metrics.incrementStackOperations();
+        }
+    }
+
+    private void link(int from, int to) {
+        out[from] = push(out[from], outSize[from]++, to);
+        in[to] = push(in[to], inSize[to]++, from);
+    }
+
+    private static int[] push(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, Math.max(4, array.length * 2));
+        }
+        array[index] = value;
+        return array;
+    }
+
+    private static int indexOf(int[] array, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
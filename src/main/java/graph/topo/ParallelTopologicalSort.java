@@ -0,0 +1,207 @@
+package graph.topo;
+
+import graph.common.CSRGraph;
+import graph.common.Graph;
+import graph.common.Metrics;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ParallelTopologicalSort {
+    public static final int DEFAULT_SPLIT_THRESHOLD = 4_096;
+
+    private final CSRGraph graph;
+    private final Metrics metrics;
+    private final int parallelism;
+    private int splitThreshold = DEFAULT_SPLIT_THRESHOLD;
+
+    public ParallelTopologicalSort(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelTopologicalSort(Graph graph, Metrics metrics, int parallelism) {
+        this(graph.toCSR(), metrics, parallelism);
+    }
+
+    public ParallelTopologicalSort(CSRGraph graph, Metrics metrics, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.graph = graph;
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    public void setSplitThreshold(int splitThreshold) {
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("splitThreshold must be at least 1");
+        }
+        this.splitThreshold = splitThreshold;
+    }
+
+    public WavefrontResult sort() {
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.TOPO);
+
+        int n = graph.getNumVertices();
+        int[] targets = graph.getTargets();
+        int[] counts = new int[n];
+        for (int e = 0, m = graph.countEdges(); e < m; e++) {
+            counts[targets[e]]++;
+        }
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(counts);
+
+        int[] order = new int[n];
+        int[] level = new int[n];
+        int[] levelOffsets = new int[16];
+        int levels = 0;
+        int tail = 0;
+
+        for (int v = 0; v < n; v++) {
+            if (counts[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            int head = 0;
+            while (head < tail) {
+                if (levels + 1 >= levelOffsets.length) {
+                    levelOffsets = Arrays.copyOf(levelOffsets, levelOffsets.length * 2);
+                }
+                levelOffsets[levels] = head;
+                for (int i = head; i < tail; i++) {
+                    level[order[i]] = levels;
+                }
+
+                FrontierTask task = new FrontierTask(inDegree, order, head, tail);
+                int[] next = pool != null && tail - head > splitThreshold ? pool.invoke(task) : task.compute();
+
+                System.arraycopy(next, 0, order, tail, next.length);
+                head = tail;
+                tail += next.length;
+                levels++;
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        levelOffsets[levels] = tail;
+
+        long edgeTraversals = 0;
+        for (int i = 0; i < tail; i++) {
+            edgeTraversals += graph.outDegree(order[i]);
+        }
+        metrics.addEdgeTraversals(edgeTraversals);
+        metrics.addStackOperations(2L * tail);
+        timer.stop();
+
+        if (tail != n) {
+            return null;
+        }
+
+        return new WavefrontResult(order, level, Arrays.copyOf(levelOffsets, levels + 1));
+    }
+
+    public int[] order() {
+        WavefrontResult result = sort();
+        return result == null ? null : result.order;
+    }
+
+    private class FrontierTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicIntegerArray inDegree;
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+
+        FrontierTask(AtomicIntegerArray inDegree, int[] frontier, int from, int to) {
+            this.inDegree = inDegree;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > splitThreshold && getPool() != null) {
+                int mid = (from + to) >>> 1;
+                FrontierTask left = new FrontierTask(inDegree, frontier, from, mid);
+                FrontierTask right = new FrontierTask(inDegree, frontier, mid, to);
+                left.fork();
+                int[] rightNext = right.compute();
+                int[] leftNext = left.join();
+                return merge(leftNext, rightNext);
+            }
+
+            int[] targets = graph.getTargets();
+            int[] next = new int[16];
+            int size = 0;
+
+            for (int i = from; i < to; i++) {
+                int v = frontier[i];
+                for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                    int w = targets[e];
+                    if (inDegree.decrementAndGet(w) == 0) {
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, size * 2);
+                        }
+                        next[size++] = w;
+                    }
+                }
+            }
+
+            next = Arrays.copyOf(next, size);
+            Arrays.sort(next);
+            return next;
+        }
+    }
+
+    private static int[] merge(int[] left, int[] right) {
+        int[] merged = new int[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            merged[k++] = left[i] <= right[j] ? left[i++] : right[j++];
+        }
+        System.arraycopy(left, i, merged, k, left.length - i);
+        System.arraycopy(right, j, merged, k + left.length - i, right.length - j);
+        return merged;
+    }
+
+    public static class WavefrontResult {
+        public final int[] order;
+        public final int[] level;
+        public final int[] levelOffsets;
+
+        public WavefrontResult(int[] order, int[] level, int[] levelOffsets) {
+            this.order = order;
+            this.level = level;
+            this.levelOffsets = levelOffsets;
+        }
+
+        public int levelCount() {
+            return levelOffsets.length - 1;
+        }
+
+        public int levelSize(int l) {
+            return levelOffsets[l + 1] - levelOffsets[l];
+        }
+
+        public int vertex(int l, int i) {
+            return order[levelOffsets[l] + i];
+        }
+
+        public List<Integer> getLevel(int l) {
+            List<Integer> vertices = new ArrayList<>(levelSize(l));
+            for (int i = levelOffsets[l]; i < levelOffsets[l + 1]; i++) {
+                vertices.add(order[i]);
+            }
+            return vertices;
+        }
+    }
+}
@@ -1,116 +1,179 @@
 package graph.topo;
 
+import graph.common.CSRGraph;
 import graph.common.Graph;
 import graph.common.Metrics;
+import java.io.PrintStream;
 import java.util.*;
 
 public class TopologicalSort {
-    private final Graph graph;
+    private final CSRGraph graph;
     private final Metrics metrics;
 
     public TopologicalSort(Graph graph, Metrics metrics) {
+        this(graph.toCSR(), metrics);
+    }
+
+    public TopologicalSort(CSRGraph graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
     }
 
     public List<Integer> kahnSort() {
+        return toList(kahnOrder());
+    }
+
+    public int[] kahnOrder() {
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.TOPO);
+
         int n = graph.getNumVertices();
+        int[] targets = graph.getTargets();
         int[] inDegree = new int[n];
 
-        for (int v = 0; v < n; v++) {
-            for (Graph.Edge edge : graph.getNeighbors(v)) {
-                inDegree[edge.to]++;
-            }
+        for (int e = 0, m = graph.countEdges(); e < m; e++) {
+            inDegree[targets[e]]++;
         }
 
-        Queue<Integer> queue = new LinkedList<>();
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
         for (int v = 0; v < n; v++) {
             if (inDegree[v] == 0) {
-                queue.offer(v);
-                metrics.incrementStackOperations();
+                queue[tail++] = v;
             }
         }
 
-        List<Integer> topoOrder = new ArrayList<>();
-
-        metrics.startTimer();
-
-        while (!queue.isEmpty()) {
-            int v = queue.poll();
-            metrics.incrementStackOperations();
-            topoOrder.add(v);
+        long edgeTraversals = 0;
+        while (head < tail) {
+            int v = queue[head++];
+            int end = graph.edgeEnd(v);
+            edgeTraversals += end - graph.edgeStart(v);
 
-            for (Graph.Edge edge : graph.getNeighbors(v)) {
-                metrics.incrementEdgeTraversals();
-                inDegree[edge.to]--;
-
-                if (inDegree[edge.to] == 0) {
-                    queue.offer(edge.to);
-                    metrics.incrementStackOperations();
+            for (int e = graph.edgeStart(v); e < end; e++) {
+                int to = targets[e];
+                if (--inDegree[to] == 0) {
+                    queue[tail++] = to;
                 }
             }
         }
 
-        metrics.stopTimer();
+        metrics.addEdgeTraversals(edgeTraversals);
+        metrics.addStackOperations(2L * tail);
+        timer.stop();
 
-        if (topoOrder.size() != n) {
+        if (tail != n) {
             return null;
         }
 
-        return topoOrder;
+        return queue;
     }
 
     public List<Integer> dfsSort() {
+        return toList(dfsOrder());
+    }
+
+    public int[] dfsOrder() {
         int n = graph.getNumVertices();
+        int[] targets = graph.getTargets();
         boolean[] visited = new boolean[n];
-        Deque<Integer> stack = new ArrayDeque<>();
+        int[] order = new int[n];
+        int[] callStack = new int[n];
+        int[] edgeCursor = new int[n];
+        int next = n;
 
-        metrics.startTimer();
+        Metrics.PhaseTimer timer = metrics.startPhase(Metrics.Phase.TOPO);
 
-        for (int v = 0; v < n; v++) {
-            if (!visited[v]) {
-                dfsVisit(v, visited, stack);
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
             }
-        }
 
-        metrics.stopTimer();
+            int depth = 0;
+            visited[root] = true;
+            edgeCursor[root] = graph.edgeStart(root);
+            callStack[depth++] = root;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+
+                if (edgeCursor[v] < graph.edgeEnd(v)) {
+                    int to = targets[edgeCursor[v]++];
+
+                    if (!visited[to]) {
+                        visited[to] = true;
+                        edgeCursor[to] = graph.edgeStart(to);
+                        callStack[depth++] = to;
+                    }
+                    continue;
+                }
 
-        List<Integer> topoOrder = new ArrayList<>();
-        while (!stack.isEmpty()) {
-            topoOrder.add(stack.pop());
+                depth--;
+                order[--next] = v;
+            }
         }
 
-        return topoOrder;
+        metrics.addDfsVisits(n);
+        metrics.addEdgeTraversals(graph.countEdges());
+        metrics.addStackOperations(n);
+        timer.stop();
+
+        return order;
     }
 
-    private void dfsVisit(int v, boolean[] visited, Deque<Integer> stack) {
-        metrics.incrementDfsVisits();
-        visited[v] = true;
+    public static void checkOrder(CSRGraph graph, int[] order) {
+        int n = graph.getNumVertices();
+        if (order == null || order.length != n) {
+            throw new IllegalArgumentException("topoOrder must list every vertex once");
+        }
 
-        for (Graph.Edge edge : graph.getNeighbors(v)) {
-            metrics.incrementEdgeTraversals();
-            if (!visited[edge.to]) {
-                dfsVisit(edge.to, visited, stack);
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            if (v < 0 || v >= n || position[v] >= 0) {
+                throw new IllegalArgumentException("topoOrder must list every vertex once");
             }
+            position[v] = i;
         }
 
-        stack.push(v);
-        metrics.incrementStackOperations();
+        int[] targets = graph.getTargets();
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                if (position[targets[e]] <= position[u]) {
+                    throw new IllegalArgumentException("topoOrder must place every edge source before its target");
+                }
+            }
+        }
+    }
+
+    public static List<Integer> toList(int[] order) {
+        if (order == null) {
+            return null;
+        }
+
+        List<Integer> list = new ArrayList<>(order.length);
+        for (int v : order) {
+            list.add(v);
+        }
+        return list;
     }
 
     public void printTopoOrder(List<Integer> order) {
+        printTopoOrder(order, System.out);
+    }
+
+    public void printTopoOrder(List<Integer> order, PrintStream out) {
         if (order == null) {
-            System.out.println("\nTopological Sort");
-            System.out.println("ERROR: Graph contains a cycle!");
+            out.print("\nTopological Sort\nERROR: Graph contains a cycle!\n");
             return;
         }
 
-        System.out.println("\nTopological Sort");
-        System.out.print("Order: ");
+        StringBuilder sb = new StringBuilder("\nTopological Sort\nOrder: ");
         for (int i = 0; i < order.size(); i++) {
-            System.out.print(graph.getTaskName(order.get(i)));
-            if (i < order.size() - 1) System.out.print(" -> ");
+            sb.append(graph.getTaskName(order.get(i)));
+            if (i < order.size() - 1) sb.append(" -> ");
         }
-        System.out.println();
+        sb.append('\n');
+        out.print(sb);
     }
-}
\ No newline at end of file
+}
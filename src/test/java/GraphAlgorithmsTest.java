@@ -1,12 +1,33 @@
 import graph.common.*;
+import graph.scc.CondensationBuilder;
+import graph.scc.DynamicSCC;
+import graph.scc.ParallelSCC;
+import graph.scc.SCCResult;
 import graph.scc.TarjanSCC;
+import graph.topo.DynamicTopologicalOrder;
+import graph.topo.ParallelTopologicalSort;
 import graph.topo.TopologicalSort;
 import graph.dagsp.DAGShortestPath;
+import graph.export.ResultExporter;
+import graph.pipeline.GraphPipeline;
+import graph.pipeline.PipelineRunner;
+import graph.reach.ReachabilityIndex;
+import graph.schedule.ListScheduler;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.util.List;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GraphAlgorithmsTest {
 
@@ -144,4 +165,1232 @@ public class GraphAlgorithmsTest {
 
         assertEquals(4, sccs.size());
     }
+
+    @Test
+    public void testCSRGraphMatchesGraph() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 0, 4.0);
+        graph.addEdge(2, 3, 3.0);
+        graph.addEdge(3, 4, 5.0);
+        graph.setTaskName(4, "Deploy");
+
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        assertEquals(5, csr.getNumVertices());
+        assertEquals(5, csr.countEdges());
+        assertEquals(2, csr.outDegree(2));
+        assertEquals(0, csr.getTarget(csr.edgeStart(2)));
+        assertEquals(3.0, csr.getWeight(csr.edgeStart(2) + 1), 0.001);
+        assertEquals("Deploy", csr.getTaskName(4));
+        assertEquals("Task1", csr.getTaskName(1));
+
+        List<List<Integer>> fromGraph = new TarjanSCC(graph, new Metrics()).findSCCs();
+        List<List<Integer>> fromCSR = new TarjanSCC(csr, new Metrics()).findSCCs();
+        assertEquals(fromGraph, fromCSR);
+        assertEquals(3, fromCSR.size());
+    }
+
+    @Test
+    public void testCSRGraphFromEdges() {
+        int[] from = {2, 0, 0, 1};
+        int[] to = {3, 1, 2, 3};
+        double[] weight = {1.0, 2.0, 5.0, 4.0};
+
+        CSRGraph csr = CSRGraph.fromEdges(4, from, to, weight, 4);
+
+        assertArrayEquals(new int[]{0, 2, 3, 4, 4}, csr.getOffsets());
+        assertArrayEquals(new int[]{1, 2, 3, 3}, csr.getTargets());
+
+        TopologicalSort topoSort = new TopologicalSort(csr, new Metrics());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, topoSort.kahnOrder());
+
+        DAGShortestPath dagSP = new DAGShortestPath(csr, new Metrics());
+        DAGShortestPath.PathResult result = dagSP.shortestPaths(0);
+        assertEquals(6.0, result.distances[3], 0.001);
+    }
+
+    @Test
+    public void testDeepChainWithoutRecursion() {
+        int n = 200_000;
+        Graph graph = new Graph(n);
+        for (int v = 0; v + 1 < n; v++) {
+            graph.addEdge(v, v + 1, 1.0);
+        }
+        graph.addEdge(n - 1, n / 2, 1.0);
+
+        TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        assertEquals(n / 2 + 1, sccs.size());
+        assertEquals(n / 2, sccs.get(0).size());
+
+        Graph chain = new Graph(n);
+        for (int v = 0; v + 1 < n; v++) {
+            chain.addEdge(v, v + 1, 1.0);
+        }
+        int[] order = new TopologicalSort(chain, new Metrics()).dfsOrder();
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, order[i]);
+        }
+    }
+
+    @Test
+    public void testDfsSortRespectsEdges() {
+        Graph graph = new Graph(6);
+        graph.addEdge(5, 2, 1.0);
+        graph.addEdge(5, 0, 1.0);
+        graph.addEdge(4, 0, 1.0);
+        graph.addEdge(4, 1, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(3, 1, 1.0);
+
+        List<Integer> order = new TopologicalSort(graph, new Metrics()).dfsSort();
+
+        assertEquals(6, order.size());
+        for (int v = 0; v < 6; v++) {
+            for (Graph.Edge edge : graph.getNeighbors(v)) {
+                assertTrue(order.indexOf(v) < order.indexOf(edge.to));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSCCMatchesTarjan() {
+        int n = 20_000;
+        Random rand = new Random(42);
+        Graph graph = new Graph(n);
+        for (int i = 0; i < 2 * n; i++) {
+            graph.addEdge(rand.nextInt(n), rand.nextInt(n), 1.0);
+        }
+        for (int v = 0; v + 1 < 5_000; v++) {
+            graph.addEdge(v, v + 1, 1.0);
+        }
+        graph.addEdge(4_999, 0, 1.0);
+
+        ParallelSCC parallel = new ParallelSCC(graph, new Metrics(), 4);
+        parallel.setSequentialThreshold(0);
+
+        assertEquals(normalize(new TarjanSCC(graph, new Metrics()).findSCCs()),
+                normalize(parallel.findSCCs()));
+    }
+
+    @Test
+    public void testStreamingLoader(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("graph.json");
+        Files.writeString(file, "{\"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2.5},"
+                + " {\"v\": 2, \"u\": 1, \"w\": 3, \"label\": \"x\"}],"
+                + " \"meta\": {\"nested\": [1, 2]}, \"source\": 1,"
+                + " \"weight_model\": \"edge\", \"directed\": true, \"n\": 3}");
+
+        GraphDataset dataset = DataLoader.loadDataset(file.toString());
+
+        assertEquals(3, dataset.n);
+        assertEquals(1, dataset.source);
+        assertTrue(dataset.directed);
+        assertEquals("edge", dataset.weightModel);
+        assertEquals(2, dataset.graph.countEdges());
+        assertEquals(3.0, dataset.graph.getWeight(dataset.graph.edgeStart(1)), 0.001);
+        assertEquals(1, DataLoader.getSource(file.toString()));
+
+        Graph graph = DataLoader.loadGraph(file.toString());
+        assertEquals(1, graph.getNeighbors(0).size());
+        assertEquals(Integer.valueOf(2), graph.getTaskId("Task2"));
+    }
+
+    @Test
+    public void testStreamingLoaderUndirected(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("undirected.json");
+        Files.writeString(file, "{\"n\": 2, \"directed\": false, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}]}");
+
+        GraphDataset dataset = DataLoader.loadDataset(file.toString());
+
+        assertFalse(dataset.directed);
+        assertEquals(2, dataset.graph.countEdges());
+        assertEquals(1, new TarjanSCC(dataset.graph, new Metrics()).findSCCs().size());
+    }
+
+    @Test
+    public void testBinaryFormatRoundTrip(@TempDir Path dir) throws IOException {
+        int n = 1_000;
+        Random rand = new Random(7);
+        int m = 5_000;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weight = new double[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = rand.nextInt(n);
+            to[e] = rand.nextInt(n);
+            weight[e] = 1 + rand.nextInt(5);
+        }
+        GraphDataset original = new GraphDataset(CSRGraph.fromEdges(n, from, to, weight, m), 3, true, "edge");
+
+        Path file = dir.resolve("graph" + BinaryGraphFormat.EXTENSION);
+        BinaryGraphFormat.write(original, file);
+        GraphDataset loaded = DataLoader.loadDataset(file.toString());
+
+        assertEquals(n, loaded.n);
+        assertEquals(3, loaded.source);
+        assertTrue(loaded.directed);
+        assertEquals("edge", loaded.weightModel);
+        assertArrayEquals(original.graph.getOffsets(), loaded.graph.getOffsets());
+        assertArrayEquals(original.graph.getTargets(), loaded.graph.getTargets());
+        assertArrayEquals(original.graph.getWeights(), loaded.graph.getWeights(), 0.0);
+    }
+
+    @Test
+    public void testBinaryFormatRejectsJson(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("fake" + BinaryGraphFormat.EXTENSION);
+        Files.writeString(file, "{\"n\": 1, \"edges\": [], \"padding\": \"xxxxxxxxxx\"}");
+
+        assertThrows(IOException.class, () -> BinaryGraphFormat.read(file));
+    }
+
+    @Test
+    public void testBinaryFormatRejectsCorruptIndex(@TempDir Path dir) throws IOException {
+        int[] from = {0, 1};
+        int[] to = {1, 2};
+        double[] weight = {1, 1};
+        Path file = dir.resolve("small" + BinaryGraphFormat.EXTENSION);
+        BinaryGraphFormat.write(new GraphDataset(CSRGraph.fromEdges(3, from, to, weight, 2), 0, true, "edge"), file);
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals(2, BinaryGraphFormat.read(file).graph.countEdges());
+        assertEquals(1, bytes[36]);
+        assertEquals(2, bytes[52]);
+
+        byte[] badTarget = bytes.clone();
+        badTarget[52] = 9;
+        Path targetFile = dir.resolve("target" + BinaryGraphFormat.EXTENSION);
+        Files.write(targetFile, badTarget);
+        assertThrows(IOException.class, () -> BinaryGraphFormat.read(targetFile));
+
+        byte[] badOffset = bytes.clone();
+        badOffset[36] = 3;
+        Path offsetFile = dir.resolve("offset" + BinaryGraphFormat.EXTENSION);
+        Files.write(offsetFile, badOffset);
+        assertThrows(IOException.class, () -> BinaryGraphFormat.read(offsetFile));
+
+        byte[] badTotal = bytes.clone();
+        badTotal[44] = 1;
+        Path totalFile = dir.resolve("total" + BinaryGraphFormat.EXTENSION);
+        Files.write(totalFile, badTotal);
+        assertThrows(IOException.class, () -> BinaryGraphFormat.read(totalFile));
+    }
+
+    @Test
+    public void testCriticalPathMatchesAllSources() {
+        int n = 300;
+        Random rand = new Random(11);
+        Graph graph = new Graph(n);
+        for (int i = 0; i < 1_500; i++) {
+            int u = rand.nextInt(n);
+            int v = rand.nextInt(n);
+            if (u < v) {
+                graph.addEdge(u, v, rand.nextInt(9) - 2);
+            }
+        }
+
+        DAGShortestPath dagSP = new DAGShortestPath(graph, new Metrics());
+        double expected = Double.NEGATIVE_INFINITY;
+        for (int src = 0; src < n; src++) {
+            for (double d : dagSP.longestPaths(src).distances) {
+                expected = Math.max(expected, d);
+            }
+        }
+
+        DAGShortestPath.CriticalPath cp = dagSP.findCriticalPath();
+        assertEquals(expected, cp.length, 0.001);
+
+        double length = 0;
+        for (int i = 0; i + 1 < cp.path.size(); i++) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (Graph.Edge edge : graph.getNeighbors(cp.path.get(i))) {
+                if (edge.to == cp.path.get(i + 1)) {
+                    best = Math.max(best, edge.weight);
+                }
+            }
+            length += best;
+        }
+        assertEquals(cp.length, length, 0.001);
+    }
+
+    @Test
+    public void testScheduleSlack() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 3.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 4.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(3, 4, 2.0);
+
+        DAGShortestPath dagSP = new DAGShortestPath(graph, new Metrics());
+        DAGShortestPath.ScheduleResult schedule = dagSP.analyzeSchedule();
+
+        assertEquals(9.0, schedule.makespan, 0.001);
+        assertArrayEquals(new double[]{0, 3, 2, 7, 9}, schedule.earliestStart, 0.001);
+        assertArrayEquals(new double[]{0, 3, 6, 7, 9}, schedule.latestStart, 0.001);
+        assertEquals(4.0, schedule.slack[2], 0.001);
+        assertArrayEquals(new int[]{0, 1, 3, 4}, schedule.criticalVertices);
+        assertEquals(dagSP.findCriticalPath().length, schedule.makespan, 0.001);
+    }
+
+    @Test
+    public void testBatchPathsMatchSingleQueries() {
+        int n = 200;
+        Random rand = new Random(5);
+        Graph graph = new Graph(n);
+        for (int i = 0; i < 800; i++) {
+            int u = rand.nextInt(n);
+            int v = rand.nextInt(n);
+            if (u < v) {
+                graph.addEdge(u, v, 1 + rand.nextInt(5));
+            }
+        }
+
+        DAGShortestPath dagSP = new DAGShortestPath(graph, new Metrics());
+        int[] sources = {0, 7, 50, 199, 7};
+        DAGShortestPath.MultiSourceResult batch = dagSP.batchShortestPaths(sources, 3);
+        DAGShortestPath.MultiSourceResult longest = dagSP.batchLongestPaths(sources, 1);
+
+        for (int i = 0; i < sources.length; i++) {
+            DAGShortestPath.PathResult single = dagSP.shortestPaths(sources[i]);
+            assertArrayEquals(single.distances, batch.toPathResult(i).distances, 0.0);
+            assertArrayEquals(single.parent, batch.toPathResult(i).parent);
+            assertEquals(single.distances[n - 1], batch.distance(i, n - 1), 0.0);
+
+            DAGShortestPath.PathResult singleLongest = dagSP.longestPaths(sources[i]);
+            assertArrayEquals(singleLongest.distances, longest.toPathResult(i).distances, 0.0);
+        }
+        assertSame(dagSP.getTopologicalOrder(), dagSP.getTopologicalOrder());
+    }
+
+    @Test
+    public void testDynamicTopologicalOrder() {
+        int n = 40;
+        Random rand = new Random(3);
+        Graph graph = new Graph(n);
+        DynamicTopologicalOrder dynamic = new DynamicTopologicalOrder(n, new Metrics());
+
+        for (int i = 0; i < 400; i++) {
+            int u = rand.nextInt(n);
+            int v = rand.nextInt(n);
+
+            Graph candidate = graph.toCSR().toGraph();
+            candidate.addEdge(u, v);
+            boolean acyclic = new TopologicalSort(candidate, new Metrics()).kahnOrder() != null;
+
+            assertEquals(acyclic, dynamic.addEdge(u, v));
+            if (acyclic) {
+                graph.addEdge(u, v);
+            }
+
+            for (int x = 0; x < n; x++) {
+                for (Graph.Edge edge : graph.getNeighbors(x)) {
+                    assertTrue(dynamic.precedes(x, edge.to));
+                }
+            }
+        }
+
+        int[] order = dynamic.getOrder();
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, dynamic.position(order[i]));
+        }
+    }
+
+    @Test
+    public void testDynamicSCCMatchesRecomputation() {
+        int n = 30;
+        Random rand = new Random(9);
+        List<int[]> edges = new ArrayList<>();
+        DynamicSCC dynamic = new DynamicSCC(n, new Metrics());
+        List<DynamicSCC.ChangeEvent> events = new ArrayList<>();
+        dynamic.addListener(events::add);
+
+        for (int step = 0; step < 600; step++) {
+            if (!edges.isEmpty() && rand.nextInt(3) == 0) {
+                int[] edge = edges.remove(rand.nextInt(edges.size()));
+                assertTrue(dynamic.removeEdge(edge[0], edge[1]));
+            } else {
+                int[] edge = {rand.nextInt(n), rand.nextInt(n), 1 + rand.nextInt(4)};
+                edges.add(edge);
+                dynamic.addEdge(edge[0], edge[1], edge[2]);
+            }
+
+            Graph graph = new Graph(n);
+            for (int[] edge : edges) {
+                graph.addEdge(edge[0], edge[1], edge[2]);
+            }
+            TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+            List<List<Integer>> expected = tarjan.findSCCs();
+
+            assertEquals(normalize(expected), normalize(dynamic.getComponents()));
+            assertEquals(expected.size(), dynamic.getComponentCount());
+            assertEquals(tarjan.buildCondensation(expected).countEdges(),
+                    dynamic.buildCondensation().countEdges());
+        }
+
+        assertTrue(events.stream().anyMatch(e -> e.type == DynamicSCC.ChangeType.MERGE));
+        assertTrue(events.stream().anyMatch(e -> e.type == DynamicSCC.ChangeType.SPLIT));
+    }
+
+    @Test
+    public void testDynamicSCCHubComponentsMatchRecomputation() {
+        int n = 60;
+        Random rand = new Random(17);
+        List<int[]> edges = new ArrayList<>();
+        DynamicSCC dynamic = new DynamicSCC(n, new Metrics());
+
+        for (int step = 0; step < 900; step++) {
+            if (!edges.isEmpty() && rand.nextInt(3) == 0) {
+                int[] edge = edges.remove(rand.nextInt(edges.size()));
+                assertTrue(dynamic.removeEdge(edge[0], edge[1]));
+            } else {
+                int hub = rand.nextInt(2);
+                int other = 2 + rand.nextInt(n - 2);
+                int[] edge = rand.nextBoolean() ? new int[]{hub, other} : new int[]{other, hub};
+                if (rand.nextInt(4) == 0) {
+                    edge = new int[]{2 + rand.nextInt(n - 2), 2 + rand.nextInt(n - 2)};
+                }
+                edges.add(edge);
+                dynamic.addEdge(edge[0], edge[1], 1.0);
+            }
+
+            if (step % 10 == 0) {
+                Graph graph = new Graph(n);
+                for (int[] edge : edges) {
+                    graph.addEdge(edge[0], edge[1], 1.0);
+                }
+                TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+                List<List<Integer>> expected = tarjan.findSCCs();
+                assertEquals(normalize(expected), normalize(dynamic.getComponents()));
+                assertEquals(tarjan.buildCondensation(expected).countEdges(),
+                        dynamic.buildCondensation().countEdges());
+            }
+        }
+    }
+
+    @Test
+    public void testDynamicSCCEvents() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+
+        DynamicSCC dynamic = new DynamicSCC(graph, new Metrics());
+        List<DynamicSCC.ChangeEvent> events = new ArrayList<>();
+        dynamic.addListener(events::add);
+        assertEquals(3, dynamic.getComponentCount());
+
+        dynamic.addEdge(2, 0, 1.0);
+        assertEquals(1, dynamic.getComponentCount());
+        assertEquals(1, events.size());
+        assertEquals(DynamicSCC.ChangeType.MERGE, events.get(0).type);
+        assertEquals(3, events.get(0).before.length);
+
+        dynamic.removeEdge(1, 2);
+        assertEquals(3, dynamic.getComponentCount());
+        assertEquals(DynamicSCC.ChangeType.SPLIT, events.get(1).type);
+        assertEquals(3, events.get(1).after.length);
+        assertFalse(dynamic.sameComponent(0, 2));
+    }
+
+    @Test
+    public void testCondensationAggregation() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        graph.addEdge(0, 2, 5.0);
+        graph.addEdge(1, 2, 2.0);
+        graph.addEdge(1, 3, 4.0);
+        graph.addEdge(0, 2, 7.0);
+        graph.addEdge(3, 4, 1.0);
+
+        CSRGraph csr = graph.toCSR();
+        int[] componentOf = {0, 0, 1, 2, 3};
+        CondensationBuilder builder = new CondensationBuilder(csr, new Metrics());
+
+        CSRGraph first = builder.build(componentOf, 4);
+        assertArrayEquals(new int[]{0, 2, 2, 3, 3}, first.getOffsets());
+        assertArrayEquals(new int[]{1, 2, 3}, first.getTargets());
+        assertArrayEquals(new double[]{5.0, 4.0, 1.0}, first.getWeights(), 0.0);
+        assertEquals("SCC0_size2", first.getTaskName(0));
+
+        CondensationBuilder.WeightAggregation[] modes = {
+                CondensationBuilder.WeightAggregation.MIN,
+                CondensationBuilder.WeightAggregation.MAX,
+                CondensationBuilder.WeightAggregation.SUM
+        };
+        double[] expected = {2.0, 7.0, 14.0};
+        for (int i = 0; i < modes.length; i++) {
+            CSRGraph condensed = builder.build(componentOf, 4, modes[i], 3);
+            assertEquals(expected[i], condensed.getWeight(condensed.edgeStart(0)), 0.0);
+            assertArrayEquals(first.getTargets(), condensed.getTargets());
+        }
+    }
+
+    @Test
+    public void testParallelCondensationMatchesSequential() {
+        int n = 5_000;
+        Random rand = new Random(21);
+        Graph graph = new Graph(n);
+        for (int i = 0; i < 20_000; i++) {
+            graph.addEdge(rand.nextInt(n), rand.nextInt(n), 1 + rand.nextInt(5));
+        }
+
+        TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        CSRGraph sequential = tarjan.buildCondensationCSR(sccs);
+        CSRGraph parallel = tarjan.buildCondensationCSR(sccs, CondensationBuilder.WeightAggregation.FIRST, 4);
+
+        assertArrayEquals(sequential.getOffsets(), parallel.getOffsets());
+        assertArrayEquals(sequential.getTargets(), parallel.getTargets());
+        assertArrayEquals(sequential.getWeights(), parallel.getWeights(), 0.0);
+    }
+
+    @Test
+    public void testFlatSCCResult() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(3, 2, 1.0);
+
+        TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+        SCCResult result = tarjan.decompose();
+
+        assertEquals(3, result.componentCount());
+        assertTrue(result.sameComponent(0, 1));
+        assertTrue(result.sameComponent(2, 3));
+        assertFalse(result.sameComponent(1, 2));
+
+        for (int v = 0; v < 5; v++) {
+            int c = result.componentOf(v);
+            boolean found = false;
+            for (int i = 0; i < result.componentSize(c); i++) {
+                found |= result.member(c, i) == v;
+            }
+            assertTrue(found);
+        }
+
+        List<List<Integer>> lists = result.asLists();
+        assertEquals(3, lists.size());
+        assertTrue(lists.get(result.componentOf(3)).contains(2));
+        assertFalse(lists.get(result.componentOf(3)).contains(4));
+        assertEquals(lists, tarjan.findSCCs());
+        assertEquals(normalize(lists),
+                normalize(SCCResult.fromLists(new ArrayList<>(lists), 5).asLists()));
+    }
+
+    @Test
+    public void testMetricsPhasesAndCounters() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 0, 1.0);
+        graph.addEdge(2, 3, 1.0);
+
+        Metrics metrics = new Metrics();
+        new TarjanSCC(graph, metrics).decompose();
+        new TopologicalSort(graph, metrics).kahnOrder();
+
+        assertEquals(4, metrics.getDfsVisits());
+        assertEquals(4, metrics.getEdgeTraversals());
+        assertEquals(1, metrics.getPhaseHistogram(Metrics.Phase.SCC).getCount());
+        assertEquals(1, metrics.getPhaseHistogram(Metrics.Phase.TOPO).getCount());
+        assertEquals(0, metrics.getPhaseHistogram(Metrics.Phase.PATHS).getCount());
+
+        Metrics condenseMetrics = new Metrics();
+        TarjanSCC tarjan = new TarjanSCC(graph, condenseMetrics);
+        tarjan.buildCondensationCSR(tarjan.decompose());
+        assertEquals(1, condenseMetrics.getPhaseHistogram(Metrics.Phase.CONDENSE).getCount());
+
+        Metrics noOp = Metrics.noOp();
+        new TarjanSCC(graph, noOp).decompose();
+        assertEquals(0, noOp.getEdgeTraversals());
+        assertEquals(0, noOp.getPhaseHistogram(Metrics.Phase.SCC).getCount());
+
+        ConcurrentMetrics shared = new ConcurrentMetrics();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    shared.incrementRelaxations();
+                }
+                shared.startPhase(Metrics.Phase.PATHS).stop();
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                fail(e);
+            }
+        }
+        assertEquals(40_000, shared.getRelaxations());
+        assertEquals(4, shared.getPhaseHistogram(Metrics.Phase.PATHS).getCount());
+
+        shared.merge(metrics);
+        assertEquals(4, shared.getDfsVisits());
+        assertEquals(1, shared.getPhaseHistogram(Metrics.Phase.SCC).getCount());
+    }
+
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1, histogram.getMinNanos());
+        assertEquals(1000, histogram.getMaxNanos());
+        assertEquals(500_500, histogram.getTotalNanos());
+        long p50 = histogram.percentileNanos(50);
+        assertTrue(p50 >= 500 && p50 < 1024);
+        assertEquals(1000, histogram.percentileNanos(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(101));
+    }
+
+    @Test
+    public void testGeneratorModels() {
+        GraphGenerator clustered = new GraphGenerator(GraphGenerator.Model.CLUSTERED_SCC, 1000, 5000, 11);
+        clustered.setClusterSize(8);
+        CSRGraph clusteredGraph = clustered.generate();
+        assertEquals(5000, clusteredGraph.countEdges());
+        assertEquals(125, new TarjanSCC(clusteredGraph, new Metrics()).decompose().componentCount());
+
+        GraphGenerator layered = new GraphGenerator(GraphGenerator.Model.LAYERED_DAG, 1000, 4000, 11);
+        CSRGraph layeredGraph = layered.generate();
+        assertEquals(4000, layeredGraph.countEdges());
+        assertNotNull(new TopologicalSort(layeredGraph, new Metrics()).kahnOrder());
+
+        GraphGenerator powerLaw = new GraphGenerator(GraphGenerator.Model.POWER_LAW, 1000, 6000, 11);
+        CSRGraph powerLawGraph = powerLaw.generate();
+        assertEquals(6000, powerLawGraph.countEdges());
+        assertTrue(powerLawGraph.outDegree(0) > 10 * powerLawGraph.outDegree(999));
+
+        for (CSRGraph graph : List.of(clusteredGraph, layeredGraph, powerLawGraph)) {
+            for (int u = 0; u < graph.getNumVertices(); u++) {
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    assertNotEquals(u, graph.getTarget(e));
+                    if (e > graph.edgeStart(u)) {
+                        assertTrue(graph.getTarget(e - 1) < graph.getTarget(e));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGeneratorDeterministicStreaming(@TempDir Path dir) throws IOException {
+        GraphGenerator sequential = new GraphGenerator(GraphGenerator.Model.POWER_LAW, 50_000, 600_000, 3);
+        sequential.setParallelism(1);
+        GraphGenerator parallel = new GraphGenerator(GraphGenerator.Model.POWER_LAW, 50_000, 600_000, 3);
+        parallel.setParallelism(3);
+
+        CSRGraph expected = sequential.generate();
+        CSRGraph actual = parallel.generate();
+        assertArrayEquals(expected.getOffsets(), actual.getOffsets());
+        assertArrayEquals(expected.getTargets(), actual.getTargets());
+        assertArrayEquals(expected.getWeights(), actual.getWeights());
+
+        Path json = dir.resolve("generated.json");
+        Path binary = dir.resolve("generated.bin");
+        assertEquals(600_000, parallel.write(json, binary));
+
+        for (Path path : List.of(json, binary)) {
+            GraphDataset loaded = DataLoader.loadDataset(path.toString());
+            assertEquals(0, loaded.source);
+            assertArrayEquals(expected.getOffsets(), loaded.graph.getOffsets());
+            assertArrayEquals(expected.getTargets(), loaded.graph.getTargets());
+            assertArrayEquals(expected.getWeights(), loaded.graph.getWeights());
+        }
+    }
+
+    @Test
+    public void testParallelTopologicalSortWavefronts() {
+        Graph graph = new Graph(6);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(0, 4, 1.0);
+        graph.addEdge(4, 3, 1.0);
+        graph.addEdge(3, 5, 1.0);
+
+        ParallelTopologicalSort.WavefrontResult result =
+                new ParallelTopologicalSort(graph, new Metrics(), 2).sort();
+
+        assertEquals(4, result.levelCount());
+        assertEquals(List.of(0, 1), result.getLevel(0));
+        assertEquals(List.of(2, 4), result.getLevel(1));
+        assertEquals(List.of(3), result.getLevel(2));
+        assertEquals(List.of(5), result.getLevel(3));
+        assertEquals(2, result.level[3]);
+        assertArrayEquals(new int[]{0, 1, 2, 4, 3, 5}, result.order);
+
+        graph.addEdge(5, 0, 1.0);
+        assertNull(new ParallelTopologicalSort(graph, new Metrics(), 2).sort());
+    }
+
+    @Test
+    public void testParallelTopologicalSortMatchesSequential() {
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.LAYERED_DAG, 40_000, 200_000, 5);
+        generator.setLayers(4);
+        CSRGraph graph = generator.generate();
+
+        ParallelTopologicalSort sequential = new ParallelTopologicalSort(graph, new Metrics(), 1);
+        ParallelTopologicalSort parallel = new ParallelTopologicalSort(graph, new Metrics(), 4);
+        parallel.setSplitThreshold(64);
+
+        ParallelTopologicalSort.WavefrontResult expected = sequential.sort();
+        ParallelTopologicalSort.WavefrontResult actual = parallel.sort();
+        assertArrayEquals(expected.order, actual.order);
+        assertArrayEquals(expected.level, actual.level);
+        assertArrayEquals(expected.levelOffsets, actual.levelOffsets);
+
+        int[] targets = graph.getTargets();
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                assertTrue(actual.level[u] < actual.level[targets[e]]);
+            }
+        }
+    }
+
+    @Test
+    public void testWavefrontPathsMatchSequential() {
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.LAYERED_DAG, 30_000, 240_000, 9);
+        generator.setLayers(6);
+        generator.setLayerSpan(3);
+        CSRGraph graph = generator.generate();
+
+        Metrics sequentialMetrics = new Metrics();
+        Metrics parallelMetrics = new Metrics();
+        DAGShortestPath sequential = new DAGShortestPath(graph, sequentialMetrics);
+        DAGShortestPath parallel = new DAGShortestPath(graph, parallelMetrics);
+
+        for (int source : new int[]{0, 17, 12_000}) {
+            DAGShortestPath.PathResult expected = sequential.shortestPaths(source);
+            DAGShortestPath.PathResult actual = parallel.shortestPaths(source, 4);
+            assertArrayEquals(expected.distances, actual.distances);
+            assertArrayEquals(expected.parent, actual.parent);
+
+            expected = sequential.longestPaths(source);
+            actual = parallel.longestPaths(source, 4);
+            assertArrayEquals(expected.distances, actual.distances);
+            assertArrayEquals(expected.parent, actual.parent);
+        }
+        assertEquals(sequentialMetrics.getRelaxations(), parallelMetrics.getRelaxations());
+    }
+
+    @Test
+    public void testPipelineRunnerKeepsOutputOrder() {
+        List<String> files = List.of("data/small_cycle_1.json", "data/missing.json",
+                "data/medium_scc_1.json", "data/large_dense_1.json");
+
+        ByteArrayOutputStream expectedOut = new ByteArrayOutputStream();
+        GraphPipeline sequential = new GraphPipeline(new ConcurrentMetrics());
+        for (String file : files) {
+            sequential.process(file, new PrintStream(expectedOut, true, StandardCharsets.UTF_8),
+                    new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+        }
+
+        ConcurrentMetrics phases = new ConcurrentMetrics();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (PipelineRunner runner = new PipelineRunner(new GraphPipeline(phases), executor)) {
+            runner.run(files, new PrintStream(out, true, StandardCharsets.UTF_8),
+                    new PrintStream(err, true, StandardCharsets.UTF_8));
+        } finally {
+            executor.shutdown();
+        }
+
+        String timeless = "Time: [0-9.]+ ms";
+        assertEquals(expectedOut.toString(StandardCharsets.UTF_8).replaceAll(timeless, ""),
+                out.toString(StandardCharsets.UTF_8).replaceAll(timeless, ""));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Error loading dataset: data/missing.json"));
+        assertEquals(3, phases.getPhaseHistogram(Metrics.Phase.SCC).getCount());
+        assertEquals("large_dense_1", GraphPipeline.datasetName("data/large_dense_1.json"));
+    }
+
+    @Test
+    public void testPipelineRunnerBoundsInFlightDatasets() {
+        List<String> files = List.of("data/small_dag_1.json", "data/small_cycle_1.json", "data/small_mixed_1.json",
+                "data/medium_dag_1.json", "data/medium_scc_1.json", "data/medium_dense_1.json");
+        int[] active = new int[1];
+        int[] peak = new int[1];
+        GraphPipeline pipeline = new GraphPipeline(new ConcurrentMetrics()) {
+            @Override
+            public void process(String filepath, PrintStream out, PrintStream err) {
+                synchronized (active) {
+                    peak[0] = Math.max(peak[0], ++active[0]);
+                }
+                try {
+                    Thread.sleep(20);
+                    super.process(filepath, out, err);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    synchronized (active) {
+                        active[0]--;
+                    }
+                }
+            }
+        };
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newFixedThreadPool(files.size());
+        try (PipelineRunner runner = new PipelineRunner(pipeline, executor, 2)) {
+            runner.run(files, new PrintStream(out, true, StandardCharsets.UTF_8),
+                    new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(peak[0] <= 2);
+        String text = out.toString(StandardCharsets.UTF_8);
+        for (int i = 1; i < files.size(); i++) {
+            String previous = "TESTING DATASET: " + GraphPipeline.datasetName(files.get(i - 1));
+            String current = "TESTING DATASET: " + GraphPipeline.datasetName(files.get(i));
+            assertTrue(text.indexOf(previous) < text.indexOf(current));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PipelineRunner(pipeline, executor, 0));
+    }
+
+    @Test
+    public void testResultExporterJsonAndCsv(@TempDir Path dir) throws IOException {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 0, 1.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(3, 2, 1.0);
+
+        SCCResult sccs = new TarjanSCC(graph, new Metrics()).decompose();
+        DAGShortestPath dag = new DAGShortestPath(
+                new TarjanSCC(graph, new Metrics()).buildCondensationCSR(sccs), new Metrics());
+        int[] order = dag.getTopologicalOrder();
+        DAGShortestPath.PathResult paths = dag.shortestPaths(sccs.componentOf(0));
+        DAGShortestPath.CriticalPath critical = dag.findCriticalPath();
+        DAGShortestPath.ScheduleResult schedule = dag.analyzeSchedule();
+
+        StringWriter json = new StringWriter();
+        new ResultExporter(ResultExporter.Format.JSON).writeReport(json, sccs, order, paths, critical, schedule);
+        com.google.gson.JsonObject report = com.google.gson.JsonParser.parseString(json.toString()).getAsJsonObject();
+        assertEquals(sccs.componentCount(), report.getAsJsonArray("sccs").size());
+        assertEquals(order.length, report.getAsJsonArray("topologicalOrder").size());
+        assertEquals(critical.length, report.getAsJsonObject("criticalPath").get("length").getAsDouble());
+        com.google.gson.JsonArray distances = report.getAsJsonObject("paths").getAsJsonArray("distances");
+        for (int v = 0; v < paths.distances.length; v++) {
+            if (Double.isInfinite(paths.distances[v])) {
+                assertTrue(distances.get(v).isJsonNull());
+            } else {
+                assertEquals(paths.distances[v], distances.get(v).getAsDouble());
+            }
+        }
+
+        new ResultExporter(ResultExporter.Format.CSV).exportReport(dir.resolve("csv"), sccs, order, paths,
+                critical, schedule);
+        List<String> sccRows = Files.readAllLines(dir.resolve("csv").resolve("sccs.csv"));
+        assertEquals("component,vertex", sccRows.get(0));
+        assertEquals(5, sccRows.size());
+        assertTrue(sccRows.contains(sccs.componentOf(3) + ",3"));
+        List<String> pathRows = Files.readAllLines(dir.resolve("csv").resolve("paths.csv"));
+        assertEquals("vertex,distance,parent", pathRows.get(0));
+        assertEquals(sccs.componentCount() + 1, pathRows.size());
+        assertTrue(Files.exists(dir.resolve("csv").resolve("schedule.csv")));
+    }
+
+    @Test
+    public void testReachabilityIndexMatchesSearch() {
+        int n = 300;
+        Random rand = new Random(11);
+        Graph graph = new Graph(n);
+        for (int e = 0; e < 700; e++) {
+            int u = rand.nextInt(n);
+            int v = rand.nextInt(n);
+            if (u < v || rand.nextInt(20) == 0) {
+                graph.addEdge(u, v, 1);
+            }
+        }
+
+        CSRGraph csr = graph.toCSR();
+        SCCResult sccs = new TarjanSCC(csr, new Metrics()).decompose();
+        CSRGraph condensation = new TarjanSCC(csr, new Metrics()).buildCondensationCSR(sccs);
+        ReachabilityIndex closure = new ReachabilityIndex(condensation, sccs, new Metrics());
+        ReachabilityIndex intervals = new ReachabilityIndex(condensation, sccs, new Metrics(), 0, 2);
+        assertEquals(ReachabilityIndex.Mode.CLOSURE, closure.getMode());
+        assertEquals(ReachabilityIndex.Mode.INTERVALS, intervals.getMode());
+
+        for (int u = 0; u < n; u++) {
+            boolean[] seen = new boolean[n];
+            Deque<Integer> stack = new ArrayDeque<>(List.of(u));
+            seen[u] = true;
+            while (!stack.isEmpty()) {
+                int at = stack.pop();
+                for (int e = csr.edgeStart(at); e < csr.edgeEnd(at); e++) {
+                    if (!seen[csr.getTarget(e)]) {
+                        seen[csr.getTarget(e)] = true;
+                        stack.push(csr.getTarget(e));
+                    }
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                assertEquals(seen[v], closure.reaches(u, v), u + " -> " + v);
+                assertEquals(seen[v], intervals.reaches(u, v), u + " -> " + v);
+                assertEquals(seen[v], intervals.dependsOn(v, u));
+            }
+        }
+    }
+
+    @Test
+    public void testReachabilityIndexRejectsMismatchedCondensation() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        SCCResult sccs = new TarjanSCC(graph, new Metrics()).decompose();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReachabilityIndex(graph.toCSR(), sccs, new Metrics()));
+    }
+
+    @Test
+    public void testTaskNamesLazyDefaultsAndLookup() {
+        Graph graph = new Graph(2_000);
+        assertEquals("Task1999", graph.getTaskName(1999));
+        assertEquals(Integer.valueOf(42), graph.getTaskId("Task42"));
+        assertNull(graph.getTaskId("Task042"));
+        assertNull(graph.getTaskId("Task2000"));
+        assertNull(graph.getTaskId("Build"));
+
+        for (int v = 0; v < 100; v++) {
+            graph.setTaskName(v, "Step" + v);
+        }
+        graph.setTaskName(7, "Task8");
+        assertEquals(Integer.valueOf(99), graph.getTaskId("Step99"));
+        assertEquals(Integer.valueOf(7), graph.getTaskId("Task8"));
+        assertNull(graph.getTaskId("Step7"));
+        assertNull(graph.getTaskId("Task42"));
+        assertEquals(Integer.valueOf(500), graph.getTaskId("Task500"));
+
+        graph.setTaskName(7, "Compile");
+        assertEquals(Integer.valueOf(7), graph.getTaskId("Compile"));
+        assertNull(graph.getTaskId("Task8"));
+
+        CSRGraph csr = graph.toCSR();
+        assertEquals("Compile", csr.getTaskName(7));
+        assertEquals(Integer.valueOf(7), csr.getTaskId("Compile"));
+        assertEquals(Integer.valueOf(7), csr.transpose().getTaskId("Compile"));
+        assertEquals("Step3", graph.transpose().getTaskName(3));
+
+        graph.setTaskName(3, "Renamed");
+        assertEquals("Step3", csr.getTaskName(3));
+    }
+
+    @Test
+    public void testCachedReverseIndexAndTransposedView() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 2, 2.0);
+        graph.addEdge(2, 3, 3.0);
+        graph.addEdge(0, 3, 4.0);
+
+        CSRGraph csr = graph.toCSR();
+        assertEquals(2, csr.inDegree(2));
+        assertEquals(0, csr.inDegree(0));
+        int k = csr.inEdgeStart(3);
+        assertEquals(0, csr.getSources()[k]);
+        assertEquals(4.0, csr.getWeight(csr.getInEdges()[k]), 0.0);
+        assertEquals(2, csr.getSources()[k + 1]);
+
+        CSRGraph reverse = csr.transpose();
+        assertSame(reverse, csr.transpose());
+        assertSame(csr, reverse.transpose());
+        assertSame(csr.getInOffsets(), reverse.getOffsets());
+        assertEquals(2, reverse.outDegree(3));
+        assertEquals(3.0, reverse.getWeight(reverse.edgeStart(3) + 1), 0.0);
+
+        Graph transposed = graph.transpose();
+        assertEquals(2, transposed.getNeighbors(2).size());
+
+        graph.addEdge(3, 1, 1.0);
+        assertEquals(1, graph.toCSR().inDegree(1));
+    }
+
+    @Test
+    public void testKPathsMatchEnumeration() {
+        int n = 14;
+        Random rand = new Random(5);
+        Graph graph = new Graph(n);
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if (rand.nextInt(3) == 0) {
+                    graph.addEdge(u, v, 1 + rand.nextInt(9));
+                }
+            }
+        }
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 1, 6);
+
+        List<Double> shortestLengths = new ArrayList<>();
+        List<Double> lengths = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            boolean source = true;
+            for (int w = 0; w < n; w++) {
+                for (Graph.Edge edge : graph.getNeighbors(w)) {
+                    source &= edge.to != u;
+                }
+            }
+            if (source) {
+                enumeratePaths(graph, u, 0, false, shortestLengths);
+                enumeratePaths(graph, u, 0, true, lengths);
+            }
+        }
+        Collections.sort(shortestLengths);
+        Collections.sort(lengths);
+
+        DAGShortestPath dag = new DAGShortestPath(graph, new Metrics());
+        int k = 25;
+        List<DAGShortestPath.CriticalPath> shortest = dag.findKShortestPaths(k);
+        List<DAGShortestPath.CriticalPath> longest = dag.findKLongestPaths(k);
+        assertEquals(Math.min(k, lengths.size()), shortest.size());
+        assertEquals(dag.findCriticalPath().length, longest.get(0).length, 1e-9);
+
+        Set<List<Integer>> distinct = new HashSet<>();
+        for (int i = 0; i < longest.size(); i++) {
+            assertEquals(shortestLengths.get(i), shortest.get(i).length, 1e-9);
+            assertEquals(lengths.get(lengths.size() - 1 - i), longest.get(i).length, 1e-9);
+            List<Integer> path = longest.get(i).path;
+            assertTrue(graph.getNeighbors(path.get(path.size() - 1)).isEmpty());
+            assertTrue(distinct.add(path));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> dag.findKLongestPaths(0));
+    }
+
+    private static void enumeratePaths(Graph graph, int u, double length, boolean longest, List<Double> lengths) {
+        if (graph.getNeighbors(u).isEmpty()) {
+            lengths.add(length);
+            return;
+        }
+        Map<Integer, Double> best = new HashMap<>();
+        for (Graph.Edge edge : graph.getNeighbors(u)) {
+            best.merge(edge.to, edge.weight, longest ? Math::max : Math::min);
+        }
+        for (Map.Entry<Integer, Double> entry : best.entrySet()) {
+            enumeratePaths(graph, entry.getKey(), length + entry.getValue(), longest, lengths);
+        }
+    }
+
+    @Test
+    public void testListSchedulerMatchesUnboundedSchedule() {
+        GraphGenerator generator = new GraphGenerator(GraphGenerator.Model.LAYERED_DAG, 2_000, 8_000, 21);
+        generator.setLayers(12);
+        CSRGraph graph = generator.generate();
+
+        DAGShortestPath.ScheduleResult unbounded = new DAGShortestPath(graph, new Metrics()).analyzeSchedule();
+        ListScheduler.ScheduleResult wide = new ListScheduler(graph, new Metrics()).schedule(graph.getNumVertices());
+        assertEquals(unbounded.makespan, wide.makespan, 1e-9);
+
+        ListScheduler.ScheduleResult narrow = new ListScheduler(graph, new Metrics()).schedule(3);
+        assertTrue(narrow.makespan >= wide.makespan);
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                assertTrue(narrow.start[graph.getTarget(e)] >= narrow.start[u] + graph.getWeight(e) - 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testListSchedulerWithDurations() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 2, 0);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 0);
+
+        ListScheduler scheduler = new ListScheduler(graph, new Metrics());
+        scheduler.setDurations(new double[]{4, 2, 3, 1});
+        ListScheduler.ScheduleResult schedule = scheduler.schedule(2);
+
+        assertEquals(0.0, schedule.start[0]);
+        assertEquals(0.0, schedule.start[1]);
+        assertEquals(4.0, schedule.start[2]);
+        assertEquals(7.0, schedule.start[3]);
+        assertEquals(8.0, schedule.makespan);
+        assertEquals(10.0 / 16.0, schedule.utilization(), 1e-9);
+        assertNotEquals(schedule.worker[0], schedule.worker[1]);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        scheduler.printSchedule(schedule, new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertEquals("\nList Schedule (2 workers)\nMakespan: 8.00\nUtilization: 62.5%\n"
+                + "Task0: start=0.00 finish=4.00 worker=0\n"
+                + "Task1: start=0.00 finish=2.00 worker=1\n"
+                + "Task2: start=4.00 finish=7.00 worker=1\n"
+                + "Task3: start=7.00 finish=8.00 worker=0\n", out.toString(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setDurations(new double[]{1, -1, 1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(0));
+
+        graph.addEdge(3, 0, 1);
+        assertNull(new ListScheduler(graph, new Metrics()).schedule(2));
+    }
+
+    @Test
+    public void testNodeWeightedPathsMatchSplitGraph(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("tasks.json");
+        Files.writeString(file, "{\"n\": 5, \"source\": 0, \"directed\": true, \"weight_model\": \"node+edge\","
+                + " \"node_weights\": [3, 1, 4, 2, 5],"
+                + " \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}, {\"u\": 0, \"v\": 2, \"w\": 0},"
+                + " {\"u\": 1, \"v\": 3, \"w\": 2}, {\"u\": 2, \"v\": 3, \"w\": 1}, {\"u\": 3, \"v\": 4}]}");
+        GraphDataset dataset = DataLoader.loadDataset(file.toString());
+        CSRGraph graph = dataset.graph;
+        assertEquals("node+edge", dataset.weightModel);
+        assertEquals(4.0, graph.getNodeWeight(2));
+
+        Graph split = new Graph(2 * graph.getNumVertices());
+        for (int v = 0; v < graph.getNumVertices(); v++) {
+            split.addEdge(2 * v, 2 * v + 1, graph.getNodeWeight(v));
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                split.addEdge(2 * v + 1, 2 * graph.getTarget(e), graph.getWeight(e));
+            }
+        }
+
+        DAGShortestPath weighted = new DAGShortestPath(graph, new Metrics());
+        DAGShortestPath expanded = new DAGShortestPath(split, new Metrics());
+        DAGShortestPath.PathResult shortest = weighted.shortestPaths(0);
+        DAGShortestPath.PathResult longest = weighted.longestPaths(0, 2);
+        DAGShortestPath.PathResult splitShortest = expanded.shortestPaths(0);
+        DAGShortestPath.PathResult splitLongest = expanded.longestPaths(0);
+        for (int v = 0; v < graph.getNumVertices(); v++) {
+            assertEquals(splitShortest.distances[2 * v + 1], shortest.distances[v], 1e-9);
+            assertEquals(splitLongest.distances[2 * v + 1], longest.distances[v], 1e-9);
+        }
+        assertEquals(expanded.findCriticalPath().length, weighted.findCriticalPath().length, 1e-9);
+        assertEquals(List.of(0, 2, 3, 4), weighted.findCriticalPath().path);
+        assertEquals(expanded.analyzeSchedule().makespan, weighted.analyzeSchedule().makespan, 1e-9);
+        assertEquals(weighted.findCriticalPath().length, weighted.findKLongestPaths(2).get(0).length, 1e-9);
+        assertEquals(0.0, weighted.analyzeSchedule().slack[2], 1e-9);
+
+        Path binary = dir.resolve("tasks" + BinaryGraphFormat.EXTENSION);
+        BinaryGraphFormat.write(dataset, binary);
+        GraphDataset reloaded = DataLoader.loadDataset(binary.toString());
+        assertArrayEquals(graph.getNodeWeights(), reloaded.graph.getNodeWeights(), 0.0);
+        assertEquals("node+edge", reloaded.weightModel);
+
+        Path nodeOnly = dir.resolve("node.json");
+        Files.writeString(nodeOnly, "{\"n\": 2, \"weight_model\": \"node\", \"node_weights\": [2, 3],"
+                + " \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 7}]}");
+        CSRGraph nodeGraph = DataLoader.loadCSRGraph(nodeOnly.toString());
+        assertEquals(0.0, nodeGraph.getWeight(0));
+        assertEquals(5.0, new DAGShortestPath(nodeGraph, new Metrics()).findCriticalPath().length, 1e-9);
+
+        Path missing = dir.resolve("missing.json");
+        Files.writeString(missing, "{\"n\": 2, \"weight_model\": \"node\", \"edges\": []}");
+        assertThrows(IOException.class, () -> DataLoader.loadDataset(missing.toString()));
+
+        Path negative = dir.resolve("negative.json");
+        Files.writeString(negative, "{\"n\": 2, \"weight_model\": \"node\", \"node_weights\": [2, -3],"
+                + " \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}]}");
+        assertThrows(IOException.class, () -> DataLoader.loadDataset(negative.toString()));
+
+        Graph negativeGraph = new Graph(2);
+        negativeGraph.addEdge(0, 1, 1);
+        negativeGraph.setNodeWeight(1, -3);
+        ListScheduler scheduler = new ListScheduler(negativeGraph, new Metrics());
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(1));
+    }
+
+    @Test
+    public void testCondensationSumsNodeWeights() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(1, 0, 0);
+        graph.addEdge(1, 2, 0);
+        graph.addEdge(3, 2, 0);
+        double[] durations = {1.5, 2.5, 3, 6};
+        for (int v = 0; v < durations.length; v++) {
+            graph.setNodeWeight(v, durations[v]);
+        }
+
+        SCCResult sccs = new TarjanSCC(graph, new Metrics()).decompose();
+        CSRGraph condensation = new TarjanSCC(graph, new Metrics()).buildCondensationCSR(sccs);
+        assertEquals(4.0, condensation.getNodeWeight(sccs.componentOf(0)), 1e-9);
+        assertEquals(6.0, condensation.getNodeWeight(sccs.componentOf(3)), 1e-9);
+
+        ListScheduler.ScheduleResult schedule = new ListScheduler(condensation, new Metrics()).schedule(1);
+        assertEquals(13.0, schedule.makespan, 1e-9);
+        assertEquals(1.0, schedule.utilization(), 1e-9);
+        int c3 = sccs.componentOf(3);
+        int c2 = sccs.componentOf(2);
+        assertEquals(6.0, schedule.finish[c3] - schedule.start[c3], 1e-9);
+        assertEquals(10.0, schedule.start[c2], 1e-9);
+        assertEquals(9.0, new DAGShortestPath(condensation, new Metrics()).analyzeSchedule().makespan, 1e-9);
+    }
+
+    @Test
+    public void testPrintedDistancesIgnoreDefaultLocale() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 1.25);
+
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            DAGShortestPath dagSP = new DAGShortestPath(graph, Metrics.noOp());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            dagSP.printShortestPaths(dagSP.shortestPaths(0), new PrintStream(out, true, StandardCharsets.UTF_8));
+            String text = out.toString(StandardCharsets.UTF_8);
+            assertTrue(text.contains("Task1: 2.00"));
+            assertTrue(text.contains("Task2: 3.25"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    public void testExplicitTopologicalOrderIsValidated() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 2, 5.0);
+        graph.addEdge(1, 2, 1.0);
+        CSRGraph csr = graph.toCSR();
+
+        DAGShortestPath dagSP = new DAGShortestPath(csr, new int[]{0, 1, 2}, new Metrics());
+        assertEquals(3.0, dagSP.shortestPaths(0).distances[2], 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> new DAGShortestPath(csr, new int[]{0, 1}, new Metrics()));
+        assertThrows(IllegalArgumentException.class, () -> new DAGShortestPath(csr, new int[]{0, 1, 1}, new Metrics()));
+        assertThrows(IllegalArgumentException.class, () -> new DAGShortestPath(csr, new int[]{0, 1, 3}, new Metrics()));
+        assertThrows(IllegalArgumentException.class, () -> new DAGShortestPath(csr, new int[]{0, 2, 1}, new Metrics()));
+        assertThrows(IllegalArgumentException.class, () -> new ListScheduler(csr, new int[]{0, 2, 1}, new Metrics()));
+        assertNotNull(new ListScheduler(csr, new int[]{0, 1, 2}, new Metrics()).schedule(1));
+    }
+
+    @Test
+    public void testScheduleTableIsOptIn() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 2, 1.0);
+        DAGShortestPath dagSP = new DAGShortestPath(graph, new Metrics());
+        DAGShortestPath.ScheduleResult schedule = dagSP.analyzeSchedule();
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        dagSP.printSchedule(schedule, new PrintStream(summary, true, StandardCharsets.UTF_8));
+        assertEquals("\nSchedule Analysis\nMakespan: 2.00\nZero-slack: Task0, Task1\n",
+                summary.toString(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream detail = new ByteArrayOutputStream();
+        dagSP.printSchedule(schedule, new PrintStream(detail, true, StandardCharsets.UTF_8), true);
+        assertTrue(detail.toString(StandardCharsets.UTF_8).contains("Task2: ES=1.00 LS=2.00 slack=1.00\n"));
+    }
+
+    private static Set<List<Integer>> normalize(List<List<Integer>> sccs) {
+        Set<List<Integer>> result = new HashSet<>();
+        for (List<Integer> scc : sccs) {
+            List<Integer> sorted = new ArrayList<>(scc);
+            Collections.sort(sorted);
+            result.add(sorted);
+        }
+        return result;
+    }
 }
\ No newline at end of file